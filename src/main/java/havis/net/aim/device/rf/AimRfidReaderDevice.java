@@ -3,14 +3,23 @@ package havis.net.aim.device.rf;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,16 +30,13 @@ import havis.device.io.State;
 import havis.device.io.Type;
 import havis.device.rf.RFConsumer;
 import havis.device.rf.RFDevice;
-import havis.device.rf.capabilities.Capabilities;
-import havis.device.rf.capabilities.CapabilityType;
-import havis.device.rf.capabilities.RegulatoryCapabilities;
-import havis.device.rf.capabilities.TransmitPowerTableEntry;
 import havis.device.rf.common.util.RFUtils;
 import havis.device.rf.configuration.AntennaConfiguration;
 import havis.device.rf.configuration.Configuration;
 import havis.device.rf.configuration.ConfigurationType;
 import havis.device.rf.configuration.ConnectType;
 import havis.device.rf.configuration.InventorySettings;
+import havis.device.rf.configuration.RssiFilter;
 import havis.device.rf.exception.CommunicationException;
 import havis.device.rf.exception.ConnectionException;
 import havis.device.rf.exception.ImplementationException;
@@ -68,6 +74,7 @@ import havis.net.aim.xsd.RfidPasswordTypeEnumeration;
 import havis.net.aim.xsd.RfidScanResult;
 import havis.net.aim.xsd.RfidScanResultPair;
 import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.ScanDataEpc;
 import havis.net.aim.xsd.ScanSettings;
 import havis.opcua.message.exception.ApplicationException;
 
@@ -75,14 +82,56 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		implements RFConsumer, LastScanDataChangeListener, RfidDeviceEventListener {
 
 	private static final Logger log = Logger.getLogger(AimRfidReaderDevice.class.getName());
+	// port -> state parameter
+	private static final Param[] IO_STATE_PARAMS = { null, Param.HS1, Param.HS2, Param.HS3, Param.HS4,
+			Param.SWS1_SWD1, Param.SWS2_SWD2, Param.LS1, Param.LS2 };
+	// port -> direction parameter
+	private static final Param[] IO_DIRECTION_PARAMS = { null, Param.HS1_DIRECTION, Param.HS2_DIRECTION,
+			Param.HS3_DIRECTION, Param.HS4_DIRECTION, Param.SWS1_SWD1_DIRECTION, Param.SWS2_SWD2_DIRECTION,
+			Param.LS1_DIRECTION, Param.LS2_DIRECTION };
 	private final RFDeviceConnectionManager rfDeviceConnectionManager;
+	private final RfConfigurationCache rfConfigurationCache = new RfConfigurationCache();
+	private final TagReadCache tagReadCache = new TagReadCache(Environment.TAG_READ_CACHE_SIZE,
+			Environment.TAG_READ_CACHE_TIME_TO_LIVE);
+	// the tag is identified by an inventory before it is accessed
+	private boolean tagAccessVerify = Environment.TAG_ACCESS_VERIFY;
 	private final IODeviceConnectionManager ioDeviceConnectionManager;
+	private final IOPortCache ioPortCache = new IOPortCache(new IOPortCache.StateChangeListener() {
+		@Override
+		public void stateChanged(short port, State state) {
+			if (port > 0 && port < IO_STATE_PARAMS.length) {
+				// send change event
+				notifyParamChange(IO_STATE_PARAMS[port], toHaIOState(state).value());
+			}
+		}
+	});
 	private ConfigurationManager configurationManager;
 	private boolean initialized;
 	private final Lock scanLock = new ReentrantLock();
 	private final Condition scanAsyncStopped = scanLock.newCondition();
+	// configuration like antenna names and RF settings, acquired after the
+	// scan lock
+	private final ReadWriteLock configLock = new ReentrantReadWriteLock();
+	// IO operations do not wait for RF operations
+	private final Lock ioLock = new ReentrantLock();
 	private InventoryThread invThread;
 	private Integer scanAsyncRfConnection;
+	private long scanAsyncStart;
+	// antenna IDs of the antenna names, null if not yet determined
+	private volatile List<Short> antennaIds;
+	// whether the connection and the configuration for a scan are loaded
+	private volatile boolean ready;
+	private final AtomicBoolean warmUpScheduled = new AtomicBoolean();
+	private volatile long timeToFirstRead = -1;
+	private final AtomicLong firstReadCount = new AtomicLong();
+	private final AtomicLong totalTimeToFirstRead = new AtomicLong();
+	private final LastScanDataPublisher lastScanDataPublisher = new LastScanDataPublisher(
+			new LastScanDataChangeListener() {
+				@Override
+				public void lastScanDataChanged(Object source, ScanData oldScanData, ScanData newScanData) {
+					notifyParamChange(Param.LAST_SCAN_DATA, newScanData);
+				}
+			}, Environment.LAST_SCAN_DATA_INTERVAL);
 
 	private interface Operation<TDevice, TResult> {
 		String getName();
@@ -96,10 +145,23 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 		private String operationName;
 		private RFDeviceConnectionManager connectionManager;
+		private boolean readOnly;
 
 		RFOperation(String operationName, RFDeviceConnectionManager connectionManager) {
+			this(operationName, connectionManager, false);
+		}
+
+		/**
+		 * @param readOnly
+		 *            whether the operation only reads the configuration. Read
+		 *            only operations are served from the configuration cache
+		 *            concurrently to each other and to RF operations like
+		 *            scans. The RF device is only accessed exclusively.
+		 */
+		RFOperation(String operationName, RFDeviceConnectionManager connectionManager, boolean readOnly) {
 			this.operationName = operationName;
 			this.connectionManager = connectionManager;
+			this.readOnly = readOnly;
 		}
 
 		@Override
@@ -108,8 +170,17 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		}
 
 		public TResult run() throws ApplicationException {
+			// the connection must be initialized exclusively
+			if (readOnly && (initialized || !isDevMode())) {
+				try {
+					return runCached();
+				} catch (RfConfigurationCache.NotCachedException e) {
+					// the configuration is loaded from the RF device
+				}
+			}
 			try {
 				scanLock.lock();
+				configLock.writeLock().lock();
 				setDeviceStatus(DeviceStatusEnumeration.BUSY);
 				Integer connection = connectionManager.acquire();
 				TResult value;
@@ -138,9 +209,32 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 				setDeviceStatus(DeviceStatusEnumeration.ERROR);
 				throw ApplicationException.invalidState();
 			} finally {
+				configLock.writeLock().unlock();
 				scanLock.unlock();
 			}
 		}
+
+		/**
+		 * Runs the operation with shared access to the cached configuration
+		 * without accessing the RF device. The device status is not changed
+		 * because a scan may be running.
+		 * 
+		 * @throws RfConfigurationCache.NotCachedException
+		 *             if the configuration is not cached
+		 */
+		private TResult runCached() throws ApplicationException {
+			try {
+				configLock.readLock().lock();
+				return operation(null);
+			} catch (ApplicationException | RfConfigurationCache.NotCachedException e) {
+				throw e;
+			} catch (Exception e) {
+				log.log(Level.SEVERE, "Cannot execute RF operation: " + getName(), e);
+				throw ApplicationException.invalidState();
+			} finally {
+				configLock.readLock().unlock();
+			}
+		}
 	}
 
 	private abstract class IOOperation<TResult> implements Operation<IODevice, TResult> {
@@ -157,10 +251,13 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			return operationName;
 		}
 
+		/**
+		 * Runs the operation independent of RF operations. The device status
+		 * is not changed.
+		 */
 		public TResult run() throws ApplicationException {
 			try {
-				scanLock.lock();
-				setDeviceStatus(DeviceStatusEnumeration.BUSY);
+				ioLock.lock();
 				// get opened connection
 				Integer connection = ioDeviceConnectionManager.acquire();
 				TResult value;
@@ -176,17 +273,14 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 						throw ApplicationException.invalidState();
 					}
 				}
-				setDeviceStatus(DeviceStatusEnumeration.IDLE);
 				return value;
 			} catch (ApplicationException e) {
-				setDeviceStatus(DeviceStatusEnumeration.ERROR);
 				throw e;
 			} catch (Exception e) {
 				log.log(Level.SEVERE, "Cannot execute IO operation: " + getName(), e);
-				setDeviceStatus(DeviceStatusEnumeration.ERROR);
 				throw ApplicationException.invalidState();
 			} finally {
-				scanLock.unlock();
+				ioLock.unlock();
 			}
 		}
 	}
@@ -194,8 +288,10 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 	public AimRfidReaderDevice(RFDevice rfDevice, final IODevice ioDevice, ConfigurationManager configurationManager)
 			throws DeserializerException {
 		this.configurationManager = configurationManager;
-		rfDeviceConnectionManager = new RFDeviceConnectionManager(rfDevice);
-		ioDeviceConnectionManager = new IODeviceConnectionManager(ioDevice);
+		rfDeviceConnectionManager = new RFDeviceConnectionManager(rfDevice, rfConfigurationCache);
+		ioDeviceConnectionManager = new IODeviceConnectionManager(ioDevice, ioPortCache);
+		rfDeviceConnectionManager.setIdleTimeout(Environment.CONNECTION_IDLE_TIMEOUT);
+		ioDeviceConnectionManager.setIdleTimeout(Environment.CONNECTION_IDLE_TIMEOUT);
 
 		AntennaNameIdPair ant0 = new AntennaNameIdPair();
 		ant0.setAntennaId(Environment.VARIABLE_VAL_ANTENNA_ID);
@@ -218,8 +314,179 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		this.setTagTypes(Deserializer.deserializeTagTypes(Environment.VARIABLE_VAL_TAG_TYPES));
 	}
 
+	/**
+	 * Opens the connections to the RF and IO device in advance. The
+	 * connections are kept open until they are requested by another
+	 * application or the idle timeout has elapsed.
+	 */
+	public void connect() {
+		try {
+			rfDeviceConnectionManager.connect();
+		} catch (Exception e) {
+			log.log(Level.WARNING, "Cannot open connection to RF device", e);
+		}
+		try {
+			ioDeviceConnectionManager.connect();
+		} catch (Exception e) {
+			log.log(Level.WARNING, "Cannot open connection to IO device", e);
+		}
+	}
+
+	/**
+	 * Closes the connections to the RF and IO device after running operations
+	 * have been finished
+	 */
+	public void disconnect() {
+		try {
+			rfDeviceConnectionManager.disconnect();
+		} catch (Exception e) {
+			log.log(Level.SEVERE, "Cannot close connection to RF device", e);
+		}
+		try {
+			ioDeviceConnectionManager.disconnect();
+		} catch (Exception e) {
+			log.log(Level.SEVERE, "Cannot close connection to IO device", e);
+		}
+	}
+
+	/**
+	 * Opens the connection to the RF device and loads the configuration needed
+	 * by a scan like the transmit powers of the antennas, so that the next
+	 * scan starts the inventory without further requests to the RF device.
+	 * The connection is kept open like after a scan.
+	 */
+	public void warmUp() {
+		// the connection must be initialized exclusively by the first
+		// operation
+		if (isDevMode() && !initialized)
+			return;
+		// the RF device is accessed exclusively, a running scan has already
+		// loaded the configuration
+		if (!scanLock.tryLock())
+			return;
+		try {
+			if (invThread != null)
+				return;
+			configLock.readLock().lock();
+			try {
+				Integer connection = rfDeviceConnectionManager.acquire();
+				try {
+					rfConfigurationCache.getPowerMap(rfDeviceConnectionManager.getRfDevice());
+					getAntennaIds();
+				} finally {
+					rfDeviceConnectionManager.release(connection);
+				}
+			} finally {
+				configLock.readLock().unlock();
+			}
+			ready = true;
+		} catch (Exception e) {
+			ready = false;
+			log.log(Level.WARNING, "Cannot warm up RF device", e);
+		} finally {
+			scanLock.unlock();
+		}
+	}
+
+	/**
+	 * @return Whether the connection and the configuration for a scan have
+	 *         been loaded by {@link #warmUp()} or a previous scan and not been
+	 *         discarded since
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * @return The time in ns from the start of the last scan to the first
+	 *         read tag, -1 if no tag has been read yet
+	 */
+	public long getTimeToFirstRead() {
+		return timeToFirstRead;
+	}
+
+	/**
+	 * @return The number of scans which have read a tag
+	 */
+	public long getFirstReadCount() {
+		return firstReadCount.get();
+	}
+
+	/**
+	 * @return The total time in ns from the start of the scans to their first
+	 *         read tag, see {@link #getFirstReadCount()}
+	 */
+	public long getTotalTimeToFirstRead() {
+		return totalTimeToFirstRead.get();
+	}
+
+	/**
+	 * @return The number of tag reads served from the cache
+	 */
+	public long getTagReadCacheHitCount() {
+		return tagReadCache.getHitCount();
+	}
+
+	/**
+	 * @return The number of cacheable tag reads which have not been found in
+	 *         the cache
+	 */
+	public long getTagReadCacheMissCount() {
+		return tagReadCache.getMissCount();
+	}
+
+	/**
+	 * Discards the cached configuration of the RF device before it is
+	 * changed. If the scan is kept warm, the configuration is loaded again in
+	 * the background after the change.
+	 */
+	private void invalidateConfiguration() {
+		rfConfigurationCache.invalidate();
+		if (!Environment.SCAN_WARM_UP || !ready)
+			return;
+		// one task loads the configuration
+		if (!warmUpScheduled.compareAndSet(false, true))
+			return;
+		// the task waits for the running configuration change
+		InventoryExecutor.get().execute(new Runnable() {
+			@Override
+			public void run() {
+				warmUpScheduled.set(false);
+				warmUp();
+			}
+		});
+	}
+
+	/**
+	 * Records the time to the first read tag of a finished scan
+	 *
+	 * @param start
+	 *            the start of the scan
+	 * @param invThread
+	 *            the finished inventory
+	 */
+	private void scanFinished(long start, InventoryThread invThread) {
+		long firstRead = invThread.getFirstReadTime();
+		if (firstRead != 0) {
+			timeToFirstRead = firstRead - start;
+			firstReadCount.incrementAndGet();
+			totalTimeToFirstRead.addAndGet(timeToFirstRead);
+			if (log.isLoggable(Level.FINE)) {
+				log.log(Level.FINE, "Time to first read: " + TimeUnit.NANOSECONDS.toMillis(timeToFirstRead) + "ms");
+			}
+		}
+		if (Environment.SCAN_WARM_UP && invThread.getError() == null) {
+			// the connection and the configuration are still loaded
+			ready = true;
+		}
+	}
+
+	private static boolean isDevMode() {
+		return Boolean.valueOf(System.getProperty("havis.net.aim.dev.mode", "false"));
+	}
+
 	private void initialize(RFDevice rfDevice) throws ParameterException, ImplementationException, ConnectionException {
-		if (!Boolean.valueOf(System.getProperty("havis.net.aim.dev.mode", "false")))
+		if (!isDevMode())
 			return;
 
 		String region = System.getProperty("havis.net.aim.dev.region", "EU");
@@ -236,53 +503,45 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			aCfg.setConnect(conType);
 		}
 
+		invalidateConfiguration();
 		rfDevice.setConfiguration(configs);
 		this.initialized = true;
 	}
 
 	@Override
 	public byte getRfPower() throws ApplicationException {
-		RFOperation<Byte> op = new RFOperation<Byte>("get " + Param.RF_POWER, rfDeviceConnectionManager) {
+		RFOperation<Byte> op = new RFOperation<Byte>("get " + Param.RF_POWER, rfDeviceConnectionManager,
+				true /* readOnly */) {
 
 			@Override
 			public Byte operation(RFDevice rfDevice) throws Exception {
-				// get transmit power table
-				RegulatoryCapabilities regulatoryCaps = getRegulatoryCapabilities(rfDevice);
+				// get transmit power table (index -> transmit power)
+				short[] transmitPowers = rfConfigurationCache.getTransmitPowers(rfDevice);
 				Byte transmitPower = null;
 				// for each antenna
 				for (short antennaId : getAntennaIds()) {
-					// get configurations
-					List<Configuration> configs = rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION,
-							antennaId, (short) 0, (short) 0);
-					if (log.isLoggable(Level.INFO)) {
-						log.log(Level.INFO, "Received " + ConfigurationType.ANTENNA_CONFIGURATION);
-					}
 					// for each configuration
-					for (Configuration config : configs) {
-						AntennaConfiguration antennaConf = (AntennaConfiguration) config;
+					for (AntennaConfiguration antennaConf : rfConfigurationCache.getAntennaConfigurations(rfDevice,
+							antennaId)) {
 						if (log.isLoggable(Level.FINE)) {
 							log.log(Level.FINE, "  antennaId=" + antennaId + ", transmitPowerIndex="
 									+ antennaConf.getTransmitPower());
 						}
-						if (antennaConf.getTransmitPower() == null) {
+						Short index = antennaConf.getTransmitPower();
+						if (index == null || index < 0 || index >= transmitPowers.length
+								|| transmitPowers[index] == RfConfigurationCache.NO_TRANSMIT_POWER) {
 							// proceed with next configuration
 							continue;
 						}
-						// for each transmit power entry
-						for (TransmitPowerTableEntry entry : regulatoryCaps.getTransmitPowerTable().getEntryList()) {
-							// if entry has the transmit power index
-							if (entry.getIndex() == antennaConf.getTransmitPower()) {
-								if (log.isLoggable(Level.FINE)) {
-									log.log(Level.FINE, "  antennaId=" + antennaId + ", transmitPowerIndex="
-											+ entry.getIndex() + ", transmitPower=" + entry.getTransmitPower());
-								}
-								if (transmitPower != null && transmitPower != entry.getTransmitPower()) {
-									log.log(Level.SEVERE, "Cannot get RF power: Found several transmit powers");
-									throw ApplicationException.invalidState();
-								}
-								transmitPower = (byte) entry.getTransmitPower();
-							}
+						if (log.isLoggable(Level.FINE)) {
+							log.log(Level.FINE, "  antennaId=" + antennaId + ", transmitPowerIndex=" + index
+									+ ", transmitPower=" + transmitPowers[index]);
 						}
+						if (transmitPower != null && transmitPower != transmitPowers[index]) {
+							log.log(Level.SEVERE, "Cannot get RF power: Found several transmit powers");
+							throw ApplicationException.invalidState();
+						}
+						transmitPower = (byte) transmitPowers[index];
 					}
 				}
 				if (transmitPower == null) {
@@ -301,18 +560,17 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 			@Override
 			public Byte operation(RFDevice rfDevice) throws Exception {
-				// get transmit power table
-				RegulatoryCapabilities regulatoryCaps = getRegulatoryCapabilities(rfDevice);
+				// get transmit power table (index -> transmit power)
+				short[] transmitPowers = rfConfigurationCache.getTransmitPowers(rfDevice);
 				Short index = null;
 				// for each transmit power entry
-				for (TransmitPowerTableEntry entry : regulatoryCaps.getTransmitPowerTable().getEntryList()) {
+				for (short i = 0; i < transmitPowers.length; i++) {
 					// if entry has the transmit power
-					if (entry.getTransmitPower() == rfPower) {
+					if (transmitPowers[i] == rfPower) {
 						if (log.isLoggable(Level.FINE)) {
-							log.log(Level.FINE, "  transmitPowerIndex=" + entry.getIndex() + ", transmitPower="
-									+ entry.getTransmitPower());
+							log.log(Level.FINE, "  transmitPowerIndex=" + i + ", transmitPower=" + transmitPowers[i]);
 						}
-						index = entry.getIndex();
+						index = i;
 					}
 				}
 				if (index == null) {
@@ -320,6 +578,8 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 					throw ApplicationException.invalidState();
 				}
 				List<Short> antennas = getAntennaIds();
+				// the antenna configurations are changed
+				invalidateConfiguration();
 				// for each antenna
 				for (short antennaId : antennas) {
 					// set transmit power index
@@ -343,12 +603,13 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 	@Override
 	public int getMinRssi() throws ApplicationException {
-		RFOperation<Integer> op = new RFOperation<Integer>("get " + Param.MIN_RSSI, rfDeviceConnectionManager) {
+		RFOperation<Integer> op = new RFOperation<Integer>("get " + Param.MIN_RSSI, rfDeviceConnectionManager,
+				true /* readOnly */) {
 
 			@Override
 			public Integer operation(RFDevice rfDevice) throws Exception {
 				// get min. RSSI
-				InventorySettings inventorySettings = getInventorySettings(rfDevice);
+				InventorySettings inventorySettings = rfConfigurationCache.getInventorySettings(rfDevice);
 				int minRssi = inventorySettings.getRssiFilter().getMinRssi();
 				if (log.isLoggable(Level.FINE)) {
 					log.log(Level.FINE, "  minRssi=" + minRssi);
@@ -366,9 +627,11 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			@Override
 			public Object operation(RFDevice rfDevice) throws Exception {
 				// get current configuration
-				InventorySettings inventorySettings = getInventorySettings(rfDevice);
-				// set min. RSSI
-				inventorySettings.getRssiFilter().setMinRssi((short) minRssi);
+				InventorySettings inventorySettings = rfConfigurationCache.getInventorySettings(rfDevice);
+				// the settings of the device are changed
+				invalidateConfiguration();
+				// set min. RSSI (the cached instance is not modified)
+				inventorySettings = copyWithMinRssi(inventorySettings, (short) minRssi);
 				// update configuration
 				setInventorySettings(rfDevice, inventorySettings);
 				// send change event
@@ -379,6 +642,62 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		op.run();
 	};
 
+	@Override
+	public Map<Param, Integer> getIOData() throws ApplicationException {
+		Map<Param, Integer> ioData = new EnumMap<>(Param.class);
+		// try to get the values from the cache
+		for (short port = 1; port < IO_STATE_PARAMS.length; port++) {
+			State state = ioPortCache.getState(port);
+			Direction direction = ioPortCache.getDirection(port);
+			if (state == null || direction == null) {
+				break;
+			}
+			ioData.put(IO_STATE_PARAMS[port], toHaIOState(state).value());
+			ioData.put(IO_DIRECTION_PARAMS[port], toHaIODirection(direction).value());
+		}
+		if (ioData.size() == 2 * (IO_STATE_PARAMS.length - 1)) {
+			return Collections.unmodifiableMap(ioData);
+		}
+
+		IOOperation<Map<Param, Integer>> op = new IOOperation<Map<Param, Integer>>("get IOData",
+				ioDeviceConnectionManager) {
+
+			@Override
+			public Map<Param, Integer> operation(IODevice ioDevice) throws Exception {
+				// get the configuration of all ports
+				List<havis.device.io.Configuration> confs = ioDevice.getConfiguration(Type.IO, (short) 0);
+				if (log.isLoggable(Level.INFO)) {
+					log.log(Level.INFO, "Received " + Type.IO);
+				}
+				Map<Short, IOConfiguration> ioConfs = new HashMap<>();
+				if (confs != null) {
+					for (havis.device.io.Configuration conf : confs) {
+						if (conf instanceof IOConfiguration) {
+							ioConfs.put(((IOConfiguration) conf).getId(), (IOConfiguration) conf);
+						}
+					}
+				}
+				Map<Param, Integer> ioData = new EnumMap<>(Param.class);
+				for (short port = 1; port < IO_STATE_PARAMS.length; port++) {
+					IOConfiguration ioConf = ioConfs.get(port);
+					if (ioConf == null) {
+						// port is missing in the result
+						ioConf = getIOConfiguration(ioDevice, port);
+					}
+					if (log.isLoggable(Level.FINE)) {
+						log.log(Level.FINE, "  port=" + port + ", state=" + ioConf.getState() + ", direction="
+								+ ioConf.getDirection());
+					}
+					ioPortCache.update(ioConf);
+					ioData.put(IO_STATE_PARAMS[port], toHaIOState(ioConf.getState()).value());
+					ioData.put(IO_DIRECTION_PARAMS[port], toHaIODirection(ioConf.getDirection()).value());
+				}
+				return Collections.unmodifiableMap(ioData);
+			}
+		};
+		return op.run();
+	}
+
 	@Override
 	public HaIOState getHs1() throws ApplicationException {
 		return getIOState(Param.HS1, (short) 1 /* port */);
@@ -541,12 +860,15 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 	@Override
 	public AutoIdOperationStatusEnumeration scanStart(ScanSettings settings) throws ApplicationException {
+		long start = System.nanoTime();
 		try {
 			scanLock.lock();
 
 			if (invThread != null)
 				throw ApplicationException.invalidState();
 
+			scanAsyncStart = start;
+
 			RFDevice rfDevice = rfDeviceConnectionManager.getRfDevice();
 			try {
 				scanAsyncRfConnection = rfDeviceConnectionManager.acquire();
@@ -565,8 +887,10 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			}
 
 			this.setDeviceStatus(DeviceStatusEnumeration.SCANNING);
-			invThread = new InventoryThread(rfDevice);
+			invThread = new InventoryThread(rfDevice, rfConfigurationCache);
 			invThread.setTagSet(configurationManager.getTagSet());
+			// process the tags as soon as they are reported
+			rfDeviceConnectionManager.setTagListener(invThread);
 
 			try {
 				invThread.startInventoryAsync(settings, getAntennaIds(), this, this);
@@ -586,11 +910,14 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		try {
 			this.scanLock.lock();
 			rfDeviceConnectionManager.release(scanAsyncRfConnection);
+			if (this.invThread != null)
+				scanFinished(scanAsyncStart, this.invThread);
 			this.scanAsyncStopped.signal();
 		} catch (Exception e) {
 			log.log(Level.FINER, e.getMessage(), e);
 		} finally {
 			this.invThread = null;
+			rfDeviceConnectionManager.setTagListener(null);
 			this.setDeviceStatus(DeviceStatusEnumeration.IDLE);
 			this.scanLock.unlock();
 		}
@@ -615,6 +942,7 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 	@Override
 	public RfidScanResultPair scan(ScanSettings settings) throws ApplicationException {
+		long start = System.nanoTime();
 		RfidScanResultPair srp = null;
 
 		try {
@@ -649,12 +977,14 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			}
 
 			this.setDeviceStatus(DeviceStatusEnumeration.BUSY);
-			invThread = new InventoryThread(rfDevice);
+			invThread = new InventoryThread(rfDevice, rfConfigurationCache);
 			invThread.setTagSet(configurationManager.getTagSet());
+			// process the tags as soon as they are reported
+			rfDeviceConnectionManager.setTagListener(invThread);
 
 			try {
-				Collection<RfidScanResult> scanResults = invThread.startInventory(settings, scanLock, getAntennaIds(),
-						this);
+				Collection<RfidScanResult> scanResults = invThread.startInventory(settings, getAntennaIds(), this);
+				scanFinished(start, invThread);
 				if (invThread.getError() != null)
 					throw invThread.getError();
 				if (scanResults == null || scanResults.isEmpty()) {
@@ -683,6 +1013,7 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 			this.setDeviceStatus(DeviceStatusEnumeration.IDLE);
 			this.invThread = null;
+			rfDeviceConnectionManager.setTagListener(null);
 			return srp;
 
 		} catch (ApplicationException aex) {
@@ -691,6 +1022,7 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			log.log(Level.FINER, e.getMessage(), e);
 			this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
 			invThread = null;
+			rfDeviceConnectionManager.setTagListener(null);
 			return srp;
 		} finally {
 			scanLock.unlock();
@@ -702,12 +1034,63 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			long length, byte[] password) {
 		ReadResultPair rrp = new ReadResultPair();
 
-		if (region != RFUtils.BANK_EPC && region != RFUtils.BANK_PSW && region != RFUtils.BANK_TID
-				&& region != RFUtils.BANK_USR) {
+		if (!isRegion(region)) {
 			rrp.setStatus(AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR);
 			return rrp;
 		}
 
+		ReadOperation rdOp = createReadOperation(region, offset, length, password);
+
+		/* data which has been read without password is served from the cache */
+		Object result = getCachedReadData(identifier, rdOp);
+		if (result == null)
+			result = executeOperation(identifier, rdOp);
+
+		return toReadResultPair(result, offset, length);
+	}
+
+	@Override
+	public List<ReadResultPair> readTags(List<ScanData> identifiers, CodeTypeEnumeration codeType, int region,
+			long offset, long length, byte[] password) {
+		List<ReadResultPair> rrps = new ArrayList<>(identifiers.size());
+
+		if (!isRegion(region)) {
+			for (int i = 0; i < identifiers.size(); i++) {
+				ReadResultPair rrp = new ReadResultPair();
+				rrp.setStatus(AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR);
+				rrps.add(rrp);
+			}
+			return rrps;
+		}
+
+		ReadOperation rdOp = createReadOperation(region, offset, length, password);
+
+		/* only the tags which are not cached are read */
+		Object[] results = new Object[identifiers.size()];
+		List<ScanData> uncached = new ArrayList<>();
+		for (int i = 0; i < identifiers.size(); i++) {
+			results[i] = getCachedReadData(identifiers.get(i), rdOp);
+			if (results[i] == null)
+				uncached.add(identifiers.get(i));
+		}
+		Object[] readResults = executeOperations(uncached, Collections.<TagOperation> nCopies(uncached.size(), rdOp));
+		for (int i = 0, j = 0; i < results.length; i++) {
+			if (results[i] == null)
+				results[i] = readResults[j++];
+			rrps.add(toReadResultPair(results[i], offset, length));
+		}
+		return rrps;
+	}
+
+	private static boolean isRegion(int region) {
+		return region == RFUtils.BANK_EPC || region == RFUtils.BANK_PSW || region == RFUtils.BANK_TID
+				|| region == RFUtils.BANK_USR;
+	}
+
+	/**
+	 * Creates a read operation for the memory area given in bytes
+	 */
+	private static ReadOperation createReadOperation(int region, long offset, long length, byte[] password) {
 		ReadOperation rdOp = new ReadOperation();
 		rdOp.setBank((short) region);
 
@@ -720,7 +1103,6 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		/*
 		 * converts length and offset given in bytes to the right number of words
 		 */
-		int decreasedOffset = 0, increasedLength = 0;
 		/*
 		 * offset and length are both even: convert length to words as is convert offset
 		 * to words as is
@@ -737,8 +1119,6 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		else if (offset % 2 == 1 && length % 2 == 0) {
 			rdOp.setLength((short) (length / 2 + 1));
 			rdOp.setOffset((short) ((offset - 1) / 2));
-			decreasedOffset = 1;
-			increasedLength = 1;
 		}
 		/*
 		 * offset is even and length is odd: - increase length by one byte and convert
@@ -747,7 +1127,6 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		else if (offset % 2 == 0 && length % 2 == 1) {
 			rdOp.setLength((short) ((length + 1) / 2));
 			rdOp.setOffset((short) (offset / 2));
-			increasedLength = 1;
 		}
 		/*
 		 * both offset and length are odd: - increase length by one byte and convert
@@ -756,10 +1135,19 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		else if (offset % 2 == 1 && length % 2 == 1) {
 			rdOp.setLength((short) ((length + 1) / 2));
 			rdOp.setOffset((short) ((offset - 1) / 2));
-			decreasedOffset = 1;
 		}
+		return rdOp;
+	}
 
-		Object result = executeOperation(identifier, rdOp);
+	/**
+	 * Creates the result of a read operation, the read words are trimmed to
+	 * the memory area given in bytes
+	 */
+	private static ReadResultPair toReadResultPair(Object result, long offset, long length) {
+		ReadResultPair rrp = new ReadResultPair();
+
+		/* the bytes read in addition to an odd offset or end of the area */
+		int decreasedOffset = (int) (offset % 2), increasedLength = (int) ((offset + length) % 2);
 
 		if (result instanceof AutoIdOperationStatusEnumeration)
 			rrp.setStatus((AutoIdOperationStatusEnumeration) result);
@@ -774,20 +1162,52 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 			rrp.setStatus(AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL);
 
 		return rrp;
-
 	}
 
 	@Override
 	public AutoIdOperationStatusEnumeration writeTag(ScanData identifier, CodeTypeEnumeration codeType, int region,
 			long offset, byte[] data, byte[] password) {
 
-		if (region != RFUtils.BANK_EPC && region != RFUtils.BANK_PSW && region != RFUtils.BANK_TID
-				&& region != RFUtils.BANK_USR)
+		if (!isRegion(region))
 			return AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR;
 
 		if (data.length % 2 == 1 || offset % 2 == 1)
 			return AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
 
+		return (AutoIdOperationStatusEnumeration) executeOperation(identifier,
+				createWriteOperation(region, offset, data, password));
+	}
+
+	@Override
+	public List<AutoIdOperationStatusEnumeration> writeTags(List<ScanData> identifiers, CodeTypeEnumeration codeType,
+			int region, long offset, List<byte[]> data, byte[] password) {
+		if (data.size() != identifiers.size())
+			throw new IllegalArgumentException(
+					"Got " + data.size() + " data for " + identifiers.size() + " identifiers");
+
+		AutoIdOperationStatusEnumeration[] statuses = new AutoIdOperationStatusEnumeration[identifiers.size()];
+		List<ScanData> writeIdentifiers = new ArrayList<>();
+		List<TagOperation> wrOps = new ArrayList<>();
+		for (int i = 0; i < statuses.length; i++) {
+			if (!isRegion(region))
+				statuses[i] = AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR;
+			else if (data.get(i).length % 2 == 1 || offset % 2 == 1)
+				statuses[i] = AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
+			else {
+				writeIdentifiers.add(identifiers.get(i));
+				wrOps.add(createWriteOperation(region, offset, data.get(i), password));
+			}
+		}
+
+		Object[] results = executeOperations(writeIdentifiers, wrOps);
+		for (int i = 0, j = 0; i < statuses.length; i++) {
+			if (statuses[i] == null)
+				statuses[i] = (AutoIdOperationStatusEnumeration) results[j++];
+		}
+		return Arrays.asList(statuses);
+	}
+
+	private static WriteOperation createWriteOperation(int region, long offset, byte[] data, byte[] password) {
 		WriteOperation wrOp = new WriteOperation();
 		wrOp.setBank((short) region);
 		wrOp.setData(data);
@@ -798,19 +1218,26 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 				password = Arrays.copyOf(password, 4);
 			wrOp.setPassword(RFUtils.bytesToInt(password));
 		}
-
-		return (AutoIdOperationStatusEnumeration) executeOperation(identifier, wrOp);
+		return wrOp;
 	}
 
 	@Override
 	public void lastScanDataChanged(Object source, ScanData oldScanData, ScanData newScanData) {
-		this.setLastScanData(newScanData);
+		// the value is stored immediately, changes are notified at most once per interval
+		updateLastScanData(newScanData);
+		this.lastScanDataPublisher.lastScanDataChanged(source, oldScanData, newScanData);
 	}
 
 	@Override
 	public void rfidEventOccured(Object source, EventType event, Date timeStamp, Map<String, Object> eventArgs) {
 		switch (event) {
 		case RFID_SCAN_EVENT:
+			// collapse sightings according to the configured aggregation mode
+			RfidScanResult scanResult = (RfidScanResult) eventArgs
+					.get(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT);
+			if (scanResult != null)
+				eventArgs.put(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT,
+						SightingAggregator.aggregate(scanResult, configurationManager.getSightingAggregation()));
 			eventArgs.put(Environment.EVENT_RFID_SCAN_EVENT_PARAM_DEVICE_NAME, getDeviceName());
 			notifyRfidEvent(event, timeStamp, eventArgs);
 			break;
@@ -901,34 +1328,78 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		return (AutoIdOperationStatusEnumeration) executeOperation(identifier, killOp);
 	}
 
-	private RegulatoryCapabilities getRegulatoryCapabilities(RFDevice rfDevice)
-			throws ImplementationException, ConnectionException, ApplicationException {
-		List<Capabilities> caps = rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
-		if (caps == null || caps.isEmpty()) {
-			log.log(Level.SEVERE, "Cannot get regulatory capabilities: Missing result");
-			throw ApplicationException.invalidState();
-		}
-		RegulatoryCapabilities regulatoryCaps = (RegulatoryCapabilities) caps.get(0);
-		if (log.isLoggable(Level.INFO)) {
-			log.log(Level.INFO, "Received " + CapabilityType.REGULATORY_CAPABILITIES);
+	@Override
+	public List<ReadResultPair> executeTagOperations(ScanData identifier, CodeTypeEnumeration codeType,
+			List<TagOperation> operations) {
+		List<ReadResultPair> rrps = new ArrayList<>(operations.size());
+		if (operations.isEmpty())
+			return rrps;
+
+		/* no operation is executed if one of them is invalid */
+		AutoIdOperationStatusEnumeration status = checkTagOperations(operations);
+		if (status != null) {
+			ReadResultPair rrp = new ReadResultPair();
+			rrp.setStatus(status);
+			rrps.add(rrp);
+			return rrps;
 		}
-		return regulatoryCaps;
-	};
 
-	private InventorySettings getInventorySettings(RFDevice rfDevice)
-			throws ConnectionException, ImplementationException, ApplicationException {
-		List<Configuration> confs = rfDevice.getConfiguration(ConfigurationType.INVENTORY_SETTINGS,
-				(short) 0 /* antennaId */, (short) 0, (short) 0);
-		if (confs == null || confs.isEmpty()) {
-			log.log(Level.SEVERE, "Cannot get inventory settings: Missing result");
-			throw ApplicationException.invalidState();
+		Object[] results = executeTransactions(Collections.singletonList(identifier),
+				Collections.singletonList(operations))[0];
+
+		/* the operations following a failed operation have not been executed */
+		for (int i = 0; i < results.length && results[i] != null; i++) {
+			ReadResultPair rrp = new ReadResultPair();
+			if (results[i] instanceof byte[]) {
+				rrp.setStatus(AutoIdOperationStatusEnumeration.SUCCESS);
+				rrp.setResultData((byte[]) results[i]);
+			} else
+				rrp.setStatus((AutoIdOperationStatusEnumeration) results[i]);
+			rrps.add(rrp);
 		}
-		InventorySettings inventorySettings = (InventorySettings) confs.get(0);
-		if (log.isLoggable(Level.INFO)) {
-			log.log(Level.INFO, "Received " + ConfigurationType.INVENTORY_SETTINGS);
+		return rrps;
+	}
+
+	/**
+	 * @return A copy of the inventory settings with the min. RSSI
+	 */
+	private static InventorySettings copyWithMinRssi(InventorySettings inventorySettings, short minRssi) {
+		RssiFilter rssiFilter = new RssiFilter();
+		rssiFilter.setMinRssi(minRssi);
+		rssiFilter.setMaxRssi(inventorySettings.getRssiFilter().getMaxRssi());
+		InventorySettings copy = new InventorySettings();
+		copy.setRssiFilter(rssiFilter);
+		copy.setSingulationControl(inventorySettings.getSingulationControl());
+		return copy;
+	}
+
+	/**
+	 * Checks the memory banks and the data of the tag operations like the
+	 * other tag methods do, the offsets and lengths are given in words
+	 *
+	 * @return The status of the first invalid operation or <code>null</code>
+	 *         if all operations are valid
+	 */
+	private static AutoIdOperationStatusEnumeration checkTagOperations(List<TagOperation> operations) {
+		for (TagOperation operation : operations) {
+			if (operation instanceof ReadOperation) {
+				ReadOperation rdOp = (ReadOperation) operation;
+				if (!isRegion(rdOp.getBank()))
+					return AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR;
+				if (rdOp.getOffset() < 0 || rdOp.getLength() < 0)
+					return AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
+			} else if (operation instanceof WriteOperation) {
+				WriteOperation wrOp = (WriteOperation) operation;
+				if (!isRegion(wrOp.getBank()))
+					return AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR;
+				if (wrOp.getOffset() < 0 || wrOp.getData() == null || wrOp.getData().length == 0
+						|| wrOp.getData().length % 2 == 1)
+					return AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
+			} else if (!(operation instanceof LockOperation || operation instanceof KillOperation))
+				return AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
 		}
-		return inventorySettings;
-	};
+		return null;
+	}
 
 	private void setInventorySettings(RFDevice rfDevice, InventorySettings inventorySettings)
 			throws ConnectionException, ImplementationException, ParameterException {
@@ -965,6 +1436,10 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 	}
 
 	private HaIOState getIOState(final Param param, final short port) throws ApplicationException {
+		State cachedState = ioPortCache.getState(port);
+		if (cachedState != null) {
+			return toHaIOState(cachedState);
+		}
 		IOOperation<HaIOState> op = new IOOperation<HaIOState>("get " + param, ioDeviceConnectionManager) {
 
 			@Override
@@ -973,19 +1448,24 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 				if (log.isLoggable(Level.FINE)) {
 					log.log(Level.FINE, "  state=" + ioConf.getState());
 				}
-				switch (ioConf.getState()) {
-				case HIGH:
-					return HaIOState.HIGH;
-				case LOW:
-					return HaIOState.LOW;
-				case UNKNOWN:
-				}
-				return HaIOState.UNKNOWN;
+				ioPortCache.update(ioConf);
+				return toHaIOState(ioConf.getState());
 			}
 		};
 		return op.run();
 	}
 
+	private static HaIOState toHaIOState(State state) {
+		switch (state) {
+		case HIGH:
+			return HaIOState.HIGH;
+		case LOW:
+			return HaIOState.LOW;
+		case UNKNOWN:
+		}
+		return HaIOState.UNKNOWN;
+	}
+
 	private void setIOState(final Param param, final short port, final HaIOState state) throws ApplicationException {
 		IOOperation<Object> op = new IOOperation<Object>("set " + param, ioDeviceConnectionManager) {
 
@@ -1016,6 +1496,7 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 					// update configuration
 					ioConf.setState(newState);
 					setIOConfiguration(ioDevice, ioConf);
+					ioPortCache.update(ioConf);
 					// send change event
 					notifyParamChange(param, state.value());
 				}
@@ -1026,6 +1507,10 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 	}
 
 	private HaIODirection getIODirection(final Param param, final short port) throws ApplicationException {
+		Direction cachedDirection = ioPortCache.getDirection(port);
+		if (cachedDirection != null) {
+			return toHaIODirection(cachedDirection);
+		}
 		IOOperation<HaIODirection> op = new IOOperation<HaIODirection>("get " + param, ioDeviceConnectionManager) {
 
 			@Override
@@ -1034,17 +1519,22 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 				if (log.isLoggable(Level.FINE)) {
 					log.log(Level.FINE, "  direction=" + ioConf.getDirection());
 				}
-				switch (ioConf.getDirection()) {
-				case INPUT:
-					return HaIODirection.INPUT;
-				case OUTPUT:
-				}
-				return HaIODirection.OUTPUT;
+				ioPortCache.update(ioConf);
+				return toHaIODirection(ioConf.getDirection());
 			}
 		};
 		return op.run();
 	}
 
+	private static HaIODirection toHaIODirection(Direction direction) {
+		switch (direction) {
+		case INPUT:
+			return HaIODirection.INPUT;
+		case OUTPUT:
+		}
+		return HaIODirection.OUTPUT;
+	}
+
 	private void setIODirection(final Param param, final short port, final HaIODirection direction)
 			throws ApplicationException {
 		IOOperation<Object> op = new IOOperation<Object>("set " + param, ioDeviceConnectionManager) {
@@ -1067,6 +1557,7 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 					// update configuration
 					ioConf.setDirection(newDirection);
 					setIOConfiguration(ioDevice, ioConf);
+					ioPortCache.update(ioConf);
 					// send change event
 					notifyParamChange(param, direction.value());
 				}
@@ -1077,173 +1568,391 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 	}
 
 	private Object executeOperation(ScanData identifier, TagOperation operation) {
-
-		/* if an inventory thread exists, set the suspend flag */
-		boolean suspend = this.invThread != null;
+		return executeOperations(Collections.singletonList(identifier), Collections.singletonList(operation))[0];
+	}
+
+	/**
+	 * Executes one tag operation for each tag
+	 *
+	 * @return The read data or the status of each operation
+	 */
+	private Object[] executeOperations(List<ScanData> identifiers, List<TagOperation> operations) {
+		List<List<TagOperation>> transactions = new ArrayList<>(operations.size());
+		for (TagOperation operation : operations)
+			transactions.add(Collections.singletonList(operation));
+
+		Object[][] transactionResults = executeTransactions(identifiers, transactions);
+		Object[] results = new Object[transactionResults.length];
+		for (int i = 0; i < results.length; i++)
+			results[i] = transactionResults[i][0];
+		return results;
+	}
+
+	/**
+	 * Executes the tag operations of each tag one tag after another while
+	 * holding the scan lock and the connection once. If a scan is running,
+	 * the operations are run between two inventory cycles.
+	 *
+	 * @param identifiers
+	 *            the identifiers of the tags
+	 * @param transactions
+	 *            the operations for each tag
+	 * @return The read data or the status of each operation, see
+	 *         {@link #executeTransaction(RFDevice, ScanData, Filter, List)}
+	 */
+	private Object[][] executeTransactions(final List<ScanData> identifiers,
+			final List<List<TagOperation>> transactions) {
+		final Object[][] results = new Object[identifiers.size()][];
+		if (results.length == 0)
+			return results;
+
+		boolean scanning = false;
 		Integer connection = null;
 		try {
 			scanLock.lock();
 
-			/*
-			 * if suspend flag is set, suspend the inventory thread prior to executing the
-			 * operation
-			 */
-			if (suspend) {
-				if (!this.invThread.suspendInventory()) /*
-														 * if inventory thread cannot be suspended on time, return
-														 * DEVICE_NOT_READY
-														 */
-					return AutoIdOperationStatusEnumeration.DEVICE_NOT_READY;
+			/* if an inventory thread exists, the operations are run by it */
+			scanning = this.invThread != null;
+
+			/* the device status is kept while scanning */
+			if (!scanning)
+				this.setDeviceStatus(DeviceStatusEnumeration.BUSY);
+
+			final Filter[] filters = new Filter[results.length];
+			boolean identified = false;
+			for (int i = 0; i < results.length; i++) {
+				filters[i] = createFilter(identifiers.get(i));
+				if (filters[i] == null)
+					results[i] = new Object[] { AutoIdOperationStatusEnumeration.NO_IDENTIFIER };
+				else
+					identified = true;
+			}
+			if (!identified)
+				return results;
+
+			final RFDevice rfDevice = rfDeviceConnectionManager.getRfDevice();
+			if (scanning) {
+				Callable<Object[][]> access = new Callable<Object[][]>() {
+					@Override
+					public Object[][] call() throws Exception {
+						executeTransactions(rfDevice, identifiers, filters, transactions, results);
+						return results;
+					}
+				};
+				try {
+					/*
+					 * run the operations between two inventory cycles, the
+					 * inventory is continued afterwards
+					 */
+					return this.invThread.access(access);
+				} catch (RejectedExecutionException e) {
+					/*
+					 * the inventory has finished meanwhile, the connection is
+					 * kept until the scan is finished
+					 */
+					return access.call();
+				} catch (TimeoutException e) {
+					/* the current inventory cycle has not finished in time */
+					log.log(Level.FINER, "Inventory cycle did not finish in time", e);
+					fill(results, AutoIdOperationStatusEnumeration.DEVICE_NOT_READY);
+					return results;
+				}
 			}
-			this.setDeviceStatus(DeviceStatusEnumeration.BUSY);
 
-			/*
-			 * no need to to extra inventory round if operation is a read operation
-			 */
-			boolean skipInventory = operation instanceof ReadOperation;
+			try {
+				connection = rfDeviceConnectionManager.acquire();
+			} catch (Exception e) {
+				log.log(Level.FINER, e.getMessage(), e);
+				this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
+				fill(results, AutoIdOperationStatusEnumeration.DEVICE_NOT_READY);
+				return results;
+			}
 
-			Filter filter = createFilter(identifier);
-			if (filter == null)
-				return AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+			if (!initialized)
+				initialize(rfDevice);
 
-			RFDevice rfDevice = rfDeviceConnectionManager.getRfDevice();
-			if (!suspend) {
-				try {
-					connection = rfDeviceConnectionManager.acquire();
-				} catch (Exception e) {
-					log.log(Level.FINER, e.getMessage(), e);
-					this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
-					return AutoIdOperationStatusEnumeration.DEVICE_NOT_READY;
+			executeTransactions(rfDevice, identifiers, filters, transactions, results);
+			return results;
+
+		} catch (Exception e) {
+			log.log(Level.FINER, e.getMessage(), e);
+			this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
+			fill(results, AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL);
+			return results;
+		} finally {
+
+			/* only disconnect if there was no inventory thread running */
+			if (!scanning) {
+				if (connection != null) {
+					try {
+						rfDeviceConnectionManager.release(connection);
+					} catch (Exception e) {
+						log.log(Level.FINER, e.getMessage(), e);
+					}
 				}
+				if (this.getDeviceStatus() == DeviceStatusEnumeration.BUSY)
+					this.setDeviceStatus(DeviceStatusEnumeration.IDLE);
+			}
 
-				if (!initialized)
-					initialize(rfDevice);
+			scanLock.unlock();
+		}
+	}
+
+	/**
+	 * Executes the tag operations of the tags without result on the opened
+	 * connection. If the device is not ready, the remaining tags are not
+	 * accessed.
+	 */
+	private void executeTransactions(RFDevice rfDevice, List<ScanData> identifiers, Filter[] filters,
+			List<List<TagOperation>> transactions, Object[][] results) {
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] != null)
+				continue;
+			results[i] = executeTransaction(rfDevice, identifiers.get(i), filters[i], transactions.get(i));
+			if (results[i][0] == AutoIdOperationStatusEnumeration.DEVICE_NOT_READY) {
+				fill(results, AutoIdOperationStatusEnumeration.DEVICE_NOT_READY);
+				return;
 			}
+		}
+	}
 
-			TagData tag = null;
-			try {
-				List<TagData> tags = null;
-
-				if (!skipInventory) {
-					tags = rfDevice.execute(getAntennaIds(), Arrays.asList(filter), new ArrayList<TagOperation>());
-					if (tags == null || tags.isEmpty())
-						/*
-						 * if no tags exist have been found, a NO_IDENTIFIER error state is returned
-						 */
-						return AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
-
-					if (tags.size() > 1)
-						/*
-						 * if multiple tags exist have been found, a MULTIPLE_IDENTIFIERS error state is
-						 * returned
-						 */
-						return AutoIdOperationStatusEnumeration.MULTIPLE_IDENTIFIERS;
+	/* sets the status of the tags without result */
+	private static void fill(Object[][] results, AutoIdOperationStatusEnumeration status) {
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] == null)
+				results[i] = new Object[] { status };
+		}
+	}
+
+	/**
+	 * Executes the tag operations of a tag on the opened connection. The
+	 * execution is aborted at the first failed operation: consecutive read
+	 * operations are executed with a single execute call, each write, lock and
+	 * kill operation with a call of its own after the previous operations have
+	 * succeeded. If the EPC is changed by a write operation, the following
+	 * operations are executed on the tag with the written EPC.
+	 *
+	 * @return The read data or the status of each operation, <code>null</code>
+	 *         for the operations which have not been executed. If the tag
+	 *         could not be accessed, the status is set for the first operation
+	 *         not executed.
+	 */
+	private Object[] executeTransaction(RFDevice rfDevice, ScanData identifier, Filter filter,
+			List<TagOperation> operations) {
+		Object[] results = new Object[operations.size()];
+
+		/*
+		 * no need to to extra inventory round if all operations are read
+		 * operations or the identifier is verified with the results of the
+		 * operations
+		 */
+		boolean readOnly = true;
+		for (TagOperation operation : operations)
+			readOnly &= operation instanceof ReadOperation;
+		boolean skipInventory = readOnly || !tagAccessVerify;
+
+		/* the cached data of the tag may be changed by the operations */
+		if (!readOnly && identifier.getEpc() != null && identifier.getEpc().getUid() != null)
+			tagReadCache.invalidate(identifier.getEpc().getUid());
+
+		int start = 0;
+		try {
+			List<TagData> tags = null;
+
+			if (!skipInventory) {
+				tags = rfDevice.execute(getAntennaIds(), Arrays.asList(filter), new ArrayList<TagOperation>());
+				if (tags == null || tags.isEmpty()) {
+					/*
+					 * if no tags exist have been found, a NO_IDENTIFIER error state is returned
+					 */
+					results[0] = AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+					return results;
+				}
 
+				if (tags.size() > 1) {
 					/*
-					 * check if the reported tag was validly matched. If not, return NO_IDENTIFIER
+					 * if multiple tags exist have been found, a MULTIPLE_IDENTIFIERS error state is
+					 * returned
 					 */
-					if (!isValidMatch(identifier, tags.get(0)))
-						return AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+					results[0] = AutoIdOperationStatusEnumeration.MULTIPLE_IDENTIFIERS;
+					return results;
 				}
 
 				/*
-				 * execute the operation in another call, now knowing that only one transponder
+				 * check if the reported tag was validly matched. If not, return NO_IDENTIFIER
+				 */
+				if (!isValidMatch(identifier, tags.get(0))) {
+					results[0] = AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+					return results;
+				}
+			}
+
+			while (start < results.length) {
+				int end = getAccessEnd(operations, start);
+				List<TagOperation> access = operations.subList(start, end);
+
+				/*
+				 * execute the operations in another call, now knowing that only one transponder
 				 * is in the field unless inventory has been skipped
 				 */
-				tags = rfDevice.execute(getAntennaIds(), Arrays.asList(filter), Arrays.asList(operation));
+				tags = rfDevice.execute(getAntennaIds(), Arrays.asList(filter), access);
+
+				/*
+				 * without verification the operations have been executed on all
+				 * tags matching the filter, the cached data of each of them may
+				 * have been changed
+				 */
+				if (!tagAccessVerify && !readOnly && tags != null) {
+					for (TagData reported : tags)
+						tagReadCache.invalidate(reported.getEpc());
+				}
 
 				/* get the first (and only) result */
+				TagData tag;
 				if (tags != null && tags.size() == 1) {
 					tag = tags.get(0);
-					if (!isValidMatch(identifier, tag))
-						return AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+					if (!isValidMatch(identifier, tag)) {
+						results[start] = AutoIdOperationStatusEnumeration.NO_IDENTIFIER;
+						return results;
+					}
 				}
 
 				/*
 				 * or return an error state depending on the results returned by the device
 				 */
-				else
-					return (tags == null || tags.size() == 0) ? AutoIdOperationStatusEnumeration.NO_IDENTIFIER
+				else {
+					results[start] = (tags == null || tags.size() == 0)
+							? AutoIdOperationStatusEnumeration.NO_IDENTIFIER
 							: AutoIdOperationStatusEnumeration.MULTIPLE_IDENTIFIERS;
+					return results;
+				}
 
-				/* If tag exists but no result, something peculiar happened */
-				if (tag.getResultList().isEmpty())
-					return AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
+				/* the results are reported in the order of the operations */
+				List<OperationResult> opResults = tag.getResultList();
+				boolean failed = false;
+				for (int i = start; i < end; i++) {
+					/* If tag exists but no result, something peculiar happened */
+					if (i - start >= opResults.size()) {
+						if (!failed)
+							results[i] = AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
+						return results;
+					}
+					results[i] = mapOperationResult(identifier, operations.get(i), opResults.get(i - start));
+					failed |= results[i] != AutoIdOperationStatusEnumeration.SUCCESS && !(results[i] instanceof byte[]);
+				}
 
-			} catch (ParameterException e) {
-				log.log(Level.FINER, e.getMessage(), e);
-				return AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
-			} catch (ImplementationException | CommunicationException | ConnectionException e) {
-				log.log(Level.FINER, e.getMessage(), e);
-				this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
-				return AutoIdOperationStatusEnumeration.DEVICE_NOT_READY;
+				/* abort at the first failed operation */
+				if (failed)
+					return results;
+
+				start = end;
+				if (start < results.length && access.get(0) instanceof WriteOperation) {
+					/* the following operations access the tag with the written EPC */
+					identifier = getWrittenIdentifier(identifier, (WriteOperation) access.get(0));
+					if (identifier == null) {
+						results[start] = AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE;
+						return results;
+					}
+					filter = createFilter(identifier);
+				}
 			}
 
-			OperationResult opRes = tag.getResultList().get(0);
-
-			if (opRes instanceof ReadResult) {
-				ReadResult rdRes = (ReadResult) opRes;
-				AutoIdOperationStatusEnumeration status = Mapper.mapReadResultToStatus(rdRes.getResult());
-				if (status == AutoIdOperationStatusEnumeration.SUCCESS)
-					return rdRes.getReadData();
-				else
-					return status;
-
-			} else if (opRes instanceof WriteResult) {
-				WriteResult wrRes = (WriteResult) opRes;
-				return Mapper.mapWriteResultToStatus(wrRes.getResult());
-
-			} else if (opRes instanceof LockResult) {
-				LockResult lkRes = (LockResult) opRes;
-
-				AutoIdOperationStatusEnumeration status = Mapper.mapLockResultToStatus(lkRes.getResult());
+		} catch (ParameterException e) {
+			log.log(Level.FINER, e.getMessage(), e);
+			results[start] = AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
+			return results;
+		} catch (ImplementationException | CommunicationException | ConnectionException e) {
+			log.log(Level.FINER, e.getMessage(), e);
+			this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
+			results[start] = AutoIdOperationStatusEnumeration.DEVICE_NOT_READY;
+			return results;
+		}
+		return results;
+	}
+
+	/**
+	 * @return The end index of the operations executed within one access of
+	 *         the tag: either consecutive read operations or a single write,
+	 *         lock or kill operation
+	 */
+	private static int getAccessEnd(List<TagOperation> operations, int start) {
+		int end = start + 1;
+		if (operations.get(start) instanceof ReadOperation) {
+			while (end < operations.size() && operations.get(end) instanceof ReadOperation)
+				end++;
+		}
+		return end;
+	}
+
+	/**
+	 * @return The identifier of the tag after the write operation has
+	 *         succeeded or <code>null</code> if the written EPC cannot be
+	 *         determined, i.e. the CRC or PC has been written or the data
+	 *         exceeds the EPC
+	 */
+	private ScanData getWrittenIdentifier(ScanData identifier, WriteOperation wrOp) {
+		if (wrOp.getBank() != RFUtils.BANK_EPC)
+			return identifier;
+		byte[] epc = identifier.getEpc().getUid();
+		/* the EPC starts with the third word */
+		int offset = (wrOp.getOffset() - 2) * 2;
+		if (offset < 0 || offset + wrOp.getData().length > epc.length)
+			return null;
+		epc = Arrays.copyOf(epc, epc.length);
+		System.arraycopy(wrOp.getData(), 0, epc, offset, wrOp.getData().length);
+		/* discard data cached for another tag with the written EPC */
+		tagReadCache.invalidate(epc);
+
+		ScanData written = new ScanData();
+		written.setEpc(new ScanDataEpc());
+		written.getEpc().setPc(identifier.getEpc().getPc());
+		written.getEpc().setUid(epc);
+		return written;
+	}
+
+	/**
+	 * @return The read data or the status of the operation
+	 */
+	private Object mapOperationResult(ScanData identifier, TagOperation operation, OperationResult opRes) {
+		if (opRes instanceof ReadResult) {
+			ReadResult rdRes = (ReadResult) opRes;
+			AutoIdOperationStatusEnumeration status = Mapper.mapReadResultToStatus(rdRes.getResult());
+			if (status == AutoIdOperationStatusEnumeration.SUCCESS) {
+				ReadOperation rdOp = (ReadOperation) operation;
+				if (isCacheable(identifier, rdOp))
+					tagReadCache.put(identifier.getEpc().getUid(), rdOp.getBank(), rdOp.getOffset(), rdOp.getLength(),
+							rdRes.getReadData());
+				return rdRes.getReadData();
+			}
+			else
+				return status;
 
-				/*
-				 * if status is PASSWORD_ERROR but no password has been provided, return
-				 * PERMISSION_ERROR instead
-				 */
+		} else if (opRes instanceof WriteResult) {
+			WriteResult wrRes = (WriteResult) opRes;
+			return Mapper.mapWriteResultToStatus(wrRes.getResult());
 
-				if (status == AutoIdOperationStatusEnumeration.PASSWORD_ERROR
-						&& ((LockOperation) operation).getPassword() == 0)
-					return AutoIdOperationStatusEnumeration.PERMISSON_ERROR;
+		} else if (opRes instanceof LockResult) {
+			LockResult lkRes = (LockResult) opRes;
 
-				return status;
+			AutoIdOperationStatusEnumeration status = Mapper.mapLockResultToStatus(lkRes.getResult());
 
-			} else if (opRes instanceof KillResult) {
-				KillResult klRes = (KillResult) opRes;
-				return Mapper.mapKillResultToStatus(klRes.getResult());
-			}
+			/*
+			 * if status is PASSWORD_ERROR but no password has been provided, return
+			 * PERMISSION_ERROR instead
+			 */
 
-			return AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
+			if (status == AutoIdOperationStatusEnumeration.PASSWORD_ERROR
+					&& ((LockOperation) operation).getPassword() == 0)
+				return AutoIdOperationStatusEnumeration.PERMISSON_ERROR;
 
-		} catch (Exception e) {
-			log.log(Level.FINER, e.getMessage(), e);
-			this.setDeviceStatus(DeviceStatusEnumeration.ERROR);
-			return AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
-		} finally {
+			return status;
 
-			/* only disconnect if there was no inventory thread running */
-			if (!suspend) {
-				if (connection != null) {
-					try {
-						rfDeviceConnectionManager.release(connection);
-					} catch (Exception e) {
-						log.log(Level.FINER, e.getMessage(), e);
-					}
-				}
-				if (this.getDeviceStatus() == DeviceStatusEnumeration.BUSY)
-					this.setDeviceStatus(DeviceStatusEnumeration.IDLE);
-			} else { /* if there was an inventory thread running, resume it */
-				try {
-					if (!this.invThread.resumeInventory())
-						log.fine("Inventory thread could not be resumed on time.");
-				} catch (Exception e) {
-					log.log(Level.FINER, e.getMessage(), e);
-				}
-			}
-
-			scanLock.unlock();
+		} else if (opRes instanceof KillResult) {
+			KillResult klRes = (KillResult) opRes;
+			return Mapper.mapKillResultToStatus(klRes.getResult());
 		}
+
+		return AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL;
 	}
 
 	private boolean isValidMatch(ScanData identifier, TagData tag) {
@@ -1256,6 +1965,27 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 		return Arrays.equals(tag.getEpc(), identifier.getEpc().getUid());
 	}
 
+	/**
+	 * @return Whether the data of the read operation is cached, i.e. the TID
+	 *         or the user memory if configured is read without password
+	 */
+	private boolean isCacheable(ScanData identifier, ReadOperation rdOp) {
+		if (!tagReadCache.isEnabled() || identifier.getEpc() == null || identifier.getEpc().getUid() == null
+				|| rdOp.getPassword() != 0)
+			return false;
+		return rdOp.getBank() == RFUtils.BANK_TID
+				|| Environment.TAG_READ_CACHE_USER_MEMORY && rdOp.getBank() == RFUtils.BANK_USR;
+	}
+
+	/**
+	 * @return The cached data or <code>null</code> if the data of the read
+	 *         operation is not cached
+	 */
+	private byte[] getCachedReadData(ScanData identifier, ReadOperation rdOp) {
+		return isCacheable(identifier, rdOp) ? tagReadCache.get(identifier.getEpc().getUid(), rdOp.getBank(),
+				rdOp.getOffset(), rdOp.getLength()) : null;
+	}
+
 	private Filter createFilter(ScanData identifier) {
 		if (identifier.getEpc() == null || identifier.getEpc().getUid() == null)
 			return null;
@@ -1280,24 +2010,39 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 	@Override
 	public void setAntennaNames(List<AntennaNameIdPair> list) {
 		try {
-			scanLock.lock();
+			configLock.writeLock().lock();
 			super.setAntennaNames(list);
+			antennaIds = null;
 		} finally {
-			scanLock.unlock();
+			configLock.writeLock().unlock();
 		}
 	}
 
+	/**
+	 * @return The unmodifiable list of antenna IDs of the antenna names
+	 */
 	private List<Short> getAntennaIds() {
+		List<Short> antennaIds = this.antennaIds;
+		if (antennaIds != null)
+			return antennaIds;
 		List<Short> antennas = new ArrayList<>();
-		for (AntennaNameIdPair a : getAntennaNames()) {
-			// if all antennas
-			if (0 == a.getAntennaId()) {
-				antennas.clear();
-				antennas.add((short) 0);
-				break;
-			} else {
-				antennas.add((short) a.getAntennaId());
+		try {
+			configLock.readLock().lock();
+			for (AntennaNameIdPair a : getAntennaNames()) {
+				// if all antennas
+				if (0 == a.getAntennaId()) {
+					antennas.clear();
+					antennas.add((short) 0);
+					break;
+				} else {
+					antennas.add((short) a.getAntennaId());
+				}
 			}
+			// antenna names are changed with the write lock only
+			antennas = Collections.unmodifiableList(antennas);
+			this.antennaIds = antennas;
+		} finally {
+			configLock.readLock().unlock();
 		}
 		return antennas;
 	}
@@ -1306,12 +2051,16 @@ public class AimRfidReaderDevice extends RfidReaderDevice
 
 	@Override
 	public void connectionAttempted() {
-
+		// another application may change the configuration
+		rfConfigurationCache.invalidate();
+		// the connection is closed for the other application
+		ready = false;
 	}
 
 	@Override
-	public List<TagOperation> getOperations(TagData arg0) {
-		return null;
+	public List<TagOperation> getOperations(TagData tag) {
+		// the tags are passed to the running inventory
+		return rfDeviceConnectionManager.getOperations(tag);
 	}
 
 	@Override
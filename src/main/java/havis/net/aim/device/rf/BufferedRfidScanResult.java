@@ -0,0 +1,73 @@
+package havis.net.aim.device.rf;
+
+import java.util.List;
+
+import havis.net.aim.opcua.Serializer;
+import havis.net.aim.xsd.RfidScanResult;
+import havis.net.aim.xsd.RfidSighting;
+
+/**
+ * Scan result keeping its sightings in a {@link SightingBuffer}. The list of
+ * {@link RfidSighting} is created on the first call of {@link #getSightings()}.
+ */
+public class BufferedRfidScanResult extends RfidScanResult {
+
+	private SightingBuffer sightingBuffer;
+	private Byte[] boxedUid;
+
+	public BufferedRfidScanResult(SightingBuffer sightingBuffer) {
+		this.sightingBuffer = sightingBuffer;
+	}
+
+	public SightingBuffer getSightingBuffer() {
+		return sightingBuffer;
+	}
+
+	void setSightingBuffer(SightingBuffer sightingBuffer) {
+		this.sightingBuffer = sightingBuffer;
+	}
+
+	/**
+	 * @return The boxed UID of the EPC, created on the first call
+	 */
+	public Byte[] getBoxedUid() {
+		if (boxedUid == null)
+			boxedUid = Serializer.boxByteArray(getScanData().getEpc().getUid());
+		return boxedUid;
+	}
+
+	/**
+	 * @return Whether the sightings are only held by the buffer, i.e. the
+	 *         sighting list has not been created yet
+	 */
+	public boolean isBuffered() {
+		return sightings == null;
+	}
+
+	/**
+	 * @return The number of sightings without creating the sighting list
+	 */
+	public int getSightingCount() {
+		return sightings == null ? sightingBuffer.size() : sightings.size();
+	}
+
+	/**
+	 * Appends the sightings of another result
+	 *
+	 * @param result
+	 *            the result to take the sightings from
+	 */
+	public void addSightings(BufferedRfidScanResult result) {
+		if (sightings == null && result.sightings == null)
+			sightingBuffer.addAll(result.sightingBuffer);
+		else
+			getSightings().addAll(result.getSightings());
+	}
+
+	@Override
+	public List<RfidSighting> getSightings() {
+		if (sightings == null)
+			sightings = sightingBuffer.toSightings();
+		return sightings;
+	}
+}
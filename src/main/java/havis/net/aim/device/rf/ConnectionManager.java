@@ -1,47 +1,229 @@
 package havis.net.aim.device.rf;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages a connection which is shared by several operations. The connection
+ * is opened on first use and kept open after the last release until another
+ * consumer requests it via {@link #requestClosing(Object)} or, if an idle
+ * timeout is set, the connection has not been used for that time.
+ * <p>
+ * The open flag, the closing flag and the number of users are kept in one
+ * atomic state word. Acquiring and releasing an opened connection only
+ * updates the state word, the lock is only used for opening and closing the
+ * connection.
+ * </p>
+ */
 public abstract class ConnectionManager<T> {
-	private T connection = null;
-	private boolean isClosing = false;
-	private int count = 0;
+	private static final Logger log = Logger.getLogger(ConnectionManager.class.getName());
+
+	private static final long OPEN = 1L << 62;
+	private static final long CLOSING = 1L << 61;
+	private static final long COUNT = 0xFFFFFFFFL;
+
+	private final AtomicLong state = new AtomicLong();
+	private final Lock lock = new ReentrantLock();
+	private volatile T connection = null;
+
+	private volatile long idleTimeout;
+	private volatile long lastRelease;
+	private final AtomicBoolean idleTaskScheduled = new AtomicBoolean();
+
+	private final AtomicLong openCount = new AtomicLong();
+	private final AtomicLong closeCount = new AtomicLong();
+	private final AtomicLong waitTime = new AtomicLong();
 
 	protected abstract T open() throws Exception;
 
 	protected abstract void close(T connection) throws Exception;
 
-	public synchronized T acquire() throws Exception {
-		if (connection == null) {
+	/**
+	 * @param idleTimeout
+	 *            the time in ms after which an unused connection is closed, 0
+	 *            to keep the connection open until it is requested by another
+	 *            consumer
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	public T acquire() throws Exception {
+		// fast path: use the opened connection
+		if (tryAcquire())
+			return connection;
+
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			// the connection may have been opened meanwhile
+			if (tryAcquire())
+				return connection;
 			connection = open();
+			openCount.incrementAndGet();
+			state.set(OPEN | 1);
+			return connection;
+		} finally {
+			lock.unlock();
+			waitTime.addAndGet(System.nanoTime() - start);
 		}
-		count++;
-		return connection;
 	}
 
-	public synchronized void release(T connection) throws Exception {
+	private boolean tryAcquire() {
+		for (;;) {
+			long s = state.get();
+			if ((s & OPEN) == 0)
+				return false;
+			if (state.compareAndSet(s, s + 1))
+				return true;
+		}
+	}
+
+	public void release(T connection) throws Exception {
 		if (connection != this.connection) {
 			return;
-		}		
-		if (count > 0) {
-			count--;
 		}
-		if (count == 0 && isClosing) {
-			close(this.connection);
-			this.connection = null;
-			isClosing = false;
+		for (;;) {
+			long s = state.get();
+			if ((s & OPEN) == 0 || (s & COUNT) == 0)
+				return;
+			long newState = s - 1;
+			if (!state.compareAndSet(s, newState))
+				continue;
+			if ((newState & COUNT) == 0) {
+				if ((newState & CLOSING) != 0) {
+					closeUnused(false);
+				} else if (idleTimeout > 0) {
+					lastRelease = System.nanoTime();
+					scheduleIdleTask(idleTimeout);
+				}
+			}
+			return;
 		}
 	}
 
-	public synchronized void requestClosing(T connection) throws Exception {
+	public void requestClosing(T connection) throws Exception {
 		if (connection != this.connection) {
 			return;
 		}
 		if (connection != null) {
-			if (count == 0) {
-				close(this.connection);
-				this.connection = null;
-			} else {
-				isClosing = true;
+			for (;;) {
+				long s = state.get();
+				if ((s & OPEN) == 0)
+					return;
+				if ((s & COUNT) == 0) {
+					// check again if the connection has been acquired meanwhile
+					closeUnused(false);
+					continue;
+				}
+				// close the connection with the last release
+				if (state.compareAndSet(s, s | CLOSING))
+					return;
 			}
 		}
 	}
+
+	/**
+	 * Opens the connection in advance. The connection is kept open like after
+	 * the release of an operation.
+	 */
+	public void connect() throws Exception {
+		release(acquire());
+	}
+
+	/**
+	 * Closes the connection after the running operations have been finished
+	 */
+	public void disconnect() throws Exception {
+		requestClosing(connection);
+	}
+
+	/**
+	 * @return The number of opened connections
+	 */
+	public long getOpenCount() {
+		return openCount.get();
+	}
+
+	/**
+	 * @return The number of closed connections
+	 */
+	public long getCloseCount() {
+		return closeCount.get();
+	}
+
+	/**
+	 * @return The total time in ns spent for acquiring connections which were
+	 *         not opened, i.e. waiting for the opening or closing of the
+	 *         connection
+	 */
+	public long getWaitTime() {
+		return waitTime.get();
+	}
+
+	/**
+	 * Closes the connection if it is not used
+	 *
+	 * @param idle
+	 *            whether the idle timeout must have elapsed since the last
+	 *            release
+	 * @return Whether the connection is open and not used but has not been
+	 *         closed because the idle timeout has not yet elapsed
+	 */
+	private boolean closeUnused(boolean idle) throws Exception {
+		lock.lock();
+		try {
+			for (;;) {
+				long s = state.get();
+				if ((s & OPEN) == 0 || (s & COUNT) != 0)
+					return false;
+				if (idle && (s & CLOSING) == 0
+						&& System.nanoTime() - lastRelease < TimeUnit.MILLISECONDS.toNanos(idleTimeout))
+					return true;
+				// new users wait for the lock
+				if (state.compareAndSet(s, 0))
+					break;
+			}
+			try {
+				close(connection);
+			} finally {
+				connection = null;
+				closeCount.incrementAndGet();
+			}
+			if (log.isLoggable(Level.FINE)) {
+				log.log(Level.FINE, getClass().getSimpleName() + ": opens=" + openCount + ", closes=" + closeCount
+						+ ", waitTime=" + TimeUnit.NANOSECONDS.toMillis(waitTime.get()) + "ms");
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void scheduleIdleTask(long delay) {
+		// one task checks the idle time of the connection
+		if (!idleTaskScheduled.compareAndSet(false, true))
+			return;
+		Scheduler.get().schedule(new Runnable() {
+			@Override
+			public void run() {
+				idleTaskScheduled.set(false);
+				try {
+					if (closeUnused(true)) {
+						// used meanwhile, check again after the timeout
+						long remaining = TimeUnit.MILLISECONDS.toNanos(idleTimeout)
+								- (System.nanoTime() - lastRelease);
+						scheduleIdleTask(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+					}
+				} catch (Exception e) {
+					log.log(Level.SEVERE, "Cannot close idle connection", e);
+				}
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
 }
@@ -0,0 +1,180 @@
+package havis.net.aim.device.rf;
+
+import java.util.Arrays;
+
+/**
+ * Insertion ordered map with raw EPC bytes as keys.
+ * <p>
+ * Entries are stored in dense arrays, the lookup is done via an open
+ * addressing index table. The hash of an EPC can be computed once with
+ * {@link #hash(byte[])} and passed to all further calls, so a lookup of a
+ * known EPC does not allocate any objects.
+ * </p>
+ * <p>
+ * The key arrays are stored by reference and must not be modified after they
+ * have been put to the map. The map is not thread safe.
+ * </p>
+ *
+ * @param <V>
+ *            the value type
+ */
+public class EpcMap<V> {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	// entry index + 1, 0 marks an empty slot
+	private int[] index;
+	private byte[][] keys;
+	private int[] hashes;
+	private Object[] values;
+	private int size;
+
+	public EpcMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            the expected number of entries
+	 */
+	public EpcMap(int capacity) {
+		int entries = Math.max(capacity, 4);
+		index = new int[tableSize(entries)];
+		keys = new byte[entries][];
+		hashes = new int[entries];
+		values = new Object[entries];
+	}
+
+	/**
+	 * Computes the hash of an EPC
+	 *
+	 * @param epc
+	 *            the EPC bytes
+	 * @return The hash
+	 */
+	public static int hash(byte[] epc) {
+		int h = Arrays.hashCode(epc);
+		return h ^ (h >>> 16);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public V get(byte[] epc) {
+		return get(epc, hash(epc));
+	}
+
+	/**
+	 * @param epc
+	 *            the EPC bytes
+	 * @param hash
+	 *            the hash of the EPC as computed by {@link #hash(byte[])}
+	 * @return The value or null if the EPC is not contained
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(byte[] epc, int hash) {
+		int i = find(epc, hash);
+		return i < 0 ? null : (V) values[i];
+	}
+
+	public boolean containsKey(byte[] epc, int hash) {
+		return find(epc, hash) >= 0;
+	}
+
+	/**
+	 * Puts a value to the map. An existing value for the same EPC is replaced
+	 * keeping the insertion order.
+	 *
+	 * @param epc
+	 *            the EPC bytes
+	 * @param hash
+	 *            the hash of the EPC as computed by {@link #hash(byte[])}
+	 * @param value
+	 *            the value
+	 */
+	public void put(byte[] epc, int hash, V value) {
+		int mask = index.length - 1;
+		int slot = hash & mask;
+		int entry;
+		while ((entry = index[slot]) != 0) {
+			if (hashes[entry - 1] == hash && Arrays.equals(keys[entry - 1], epc)) {
+				values[entry - 1] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size == keys.length) {
+			grow();
+			put(epc, hash, value);
+			return;
+		}
+
+		keys[size] = epc;
+		hashes[size] = hash;
+		values[size] = value;
+		index[slot] = ++size;
+	}
+
+	public byte[] keyAt(int i) {
+		return keys[i];
+	}
+
+	public int hashAt(int i) {
+		return hashes[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	public V valueAt(int i) {
+		return (V) values[i];
+	}
+
+	/**
+	 * Removes all entries keeping the allocated capacity
+	 */
+	public void clear() {
+		if (size == 0)
+			return;
+		Arrays.fill(index, 0);
+		Arrays.fill(keys, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+	}
+
+	private int find(byte[] epc, int hash) {
+		int mask = index.length - 1;
+		int slot = hash & mask;
+		int entry;
+		while ((entry = index[slot]) != 0) {
+			if (hashes[entry - 1] == hash && Arrays.equals(keys[entry - 1], epc))
+				return entry - 1;
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void grow() {
+		int entries = keys.length * 2;
+		keys = Arrays.copyOf(keys, entries);
+		hashes = Arrays.copyOf(hashes, entries);
+		values = Arrays.copyOf(values, entries);
+		index = new int[tableSize(entries)];
+		int mask = index.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = hashes[i] & mask;
+			while (index[slot] != 0)
+				slot = (slot + 1) & mask;
+			index[slot] = i + 1;
+		}
+	}
+
+	// power of two with a load factor of at most 0.5
+	private static int tableSize(int entries) {
+		return Integer.highestOneBit(entries - 1) << 2;
+	}
+}
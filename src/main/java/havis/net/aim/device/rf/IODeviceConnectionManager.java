@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 import havis.device.io.IOConsumer;
 import havis.device.io.IODevice;
 import havis.device.io.StateEvent;
+import havis.device.io.Type;
 
 public class IODeviceConnectionManager extends ConnectionManager<Integer> implements IOConsumer {
 
@@ -13,9 +14,15 @@ public class IODeviceConnectionManager extends ConnectionManager<Integer> implem
 	private static final int CONNECT_TIMEOUT = 200;
 	private final int connection = 0;
 	private IODevice ioDevice;
+	private final IOPortCache portCache;
 
 	IODeviceConnectionManager(IODevice ioDevice) {
+		this(ioDevice, new IOPortCache(null));
+	}
+
+	IODeviceConnectionManager(IODevice ioDevice, IOPortCache portCache) {
 		this.ioDevice = ioDevice;
+		this.portCache = portCache;
 	}
 
 	public IODevice getIODevice() {
@@ -28,11 +35,18 @@ public class IODeviceConnectionManager extends ConnectionManager<Integer> implem
 			log.log(Level.INFO, "Opening connection to IO device");
 		}
 		ioDevice.openConnection(this, CONNECT_TIMEOUT);
+		try {
+			// get the configuration of all ports
+			portCache.prime(ioDevice.getConfiguration(Type.IO, (short) 0));
+		} catch (Exception e) {
+			log.log(Level.WARNING, "Cannot get the configuration of the IO ports", e);
+		}
 		return connection;
 	}
 
 	@Override
 	protected void close(Integer connection) throws Exception {
+		portCache.invalidate();
 		ioDevice.closeConnection();
 		if (log.isLoggable(Level.INFO)) {
 			log.log(Level.INFO, "Closed connection to IO device");
@@ -43,6 +57,8 @@ public class IODeviceConnectionManager extends ConnectionManager<Integer> implem
 
 	@Override
 	public void connectionAttempted() {
+		// another application may change the configuration
+		portCache.invalidate();
 		try {
 			requestClosing(connection);
 		} catch (Exception e) {
@@ -56,6 +72,9 @@ public class IODeviceConnectionManager extends ConnectionManager<Integer> implem
 
 	@Override
 	public void stateChanged(StateEvent event) {
-
+		if (log.isLoggable(Level.FINE)) {
+			log.log(Level.FINE, "Received state change: port=" + event.getId() + ", state=" + event.getState());
+		}
+		portCache.stateChanged(event.getId(), event.getState());
 	}
 }
@@ -0,0 +1,143 @@
+package havis.net.aim.device.rf;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import havis.device.io.Configuration;
+import havis.device.io.Direction;
+import havis.device.io.IOConfiguration;
+import havis.device.io.State;
+
+/**
+ * Caches the direction and state of the IO ports. The cache is primed with the
+ * configuration of all ports when the connection to the IO device is opened
+ * and kept current by the state change events of the IO device. It is
+ * invalid while the connection is closed.
+ */
+public class IOPortCache {
+
+	/**
+	 * Listener for state changes of a port reported by the IO device
+	 */
+	public interface StateChangeListener {
+		void stateChanged(short port, State state);
+	}
+
+	private static class Port {
+		Direction direction;
+		State state;
+	}
+
+	private final StateChangeListener listener;
+
+	private boolean valid;
+	private final Map<Short, Port> ports = new HashMap<>();
+
+	/**
+	 * @param listener
+	 *            the listener for state changes, may be <code>null</code>
+	 */
+	public IOPortCache(StateChangeListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Replaces the cached values with the given configurations and validates
+	 * the cache
+	 *
+	 * @param configurations
+	 *            the configurations of all ports
+	 */
+	public synchronized void prime(List<Configuration> configurations) {
+		ports.clear();
+		if (configurations != null) {
+			for (Configuration configuration : configurations) {
+				if (configuration instanceof IOConfiguration)
+					put((IOConfiguration) configuration);
+			}
+		}
+		valid = true;
+	}
+
+	/**
+	 * Discards all cached values
+	 */
+	public synchronized void invalidate() {
+		valid = false;
+		ports.clear();
+	}
+
+	/**
+	 * @return Whether the cache has been primed since the last invalidation
+	 */
+	public synchronized boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * @param port
+	 *            the port
+	 * @return The cached state or <code>null</code> if the port is not cached
+	 */
+	public synchronized State getState(short port) {
+		Port p = valid ? ports.get(port) : null;
+		return p == null ? null : p.state;
+	}
+
+	/**
+	 * @param port
+	 *            the port
+	 * @return The cached direction or <code>null</code> if the port is not
+	 *         cached
+	 */
+	public synchronized Direction getDirection(short port) {
+		Port p = valid ? ports.get(port) : null;
+		return p == null ? null : p.direction;
+	}
+
+	/**
+	 * Updates the cached values of a port after the configuration has been
+	 * sent to the IO device. The listener is not notified.
+	 *
+	 * @param configuration
+	 *            the sent configuration
+	 */
+	public synchronized void update(IOConfiguration configuration) {
+		if (valid)
+			put(configuration);
+	}
+
+	private void put(IOConfiguration configuration) {
+		Port p = ports.get(configuration.getId());
+		if (p == null) {
+			p = new Port();
+			ports.put(configuration.getId(), p);
+		}
+		p.direction = configuration.getDirection();
+		p.state = configuration.getState();
+	}
+
+	/**
+	 * Updates the cached state of a port from a state change event of the IO
+	 * device. The listener is notified if the state differs from the cached
+	 * one.
+	 *
+	 * @param port
+	 *            the port
+	 * @param state
+	 *            the new state
+	 */
+	public void stateChanged(short port, State state) {
+		synchronized (this) {
+			if (!valid)
+				return;
+			Port p = ports.get(port);
+			if (p == null || p.state == state)
+				return;
+			p.state = state;
+		}
+		if (listener != null)
+			listener.stateChanged(port, state);
+	}
+}
@@ -0,0 +1,84 @@
+package havis.net.aim.device.rf;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Provides the executor running the inventories and the dispatchers of their
+ * scan events. If the runtime supports virtual threads each task runs on a
+ * new virtual thread, otherwise the tasks run on a pool of daemon threads
+ * which are reused by subsequent scans and terminated after being idle for
+ * {@link #KEEP_ALIVE} seconds. The executor is created on first use.
+ */
+public class InventoryExecutor {
+
+	private static final Logger log = Logger.getLogger(InventoryExecutor.class.getName());
+
+	/* time in s an idle pool thread is kept */
+	private static final long KEEP_ALIVE = 60;
+
+	private static ExecutorService executor;
+
+	private InventoryExecutor() {
+	}
+
+	/**
+	 * @return The inventory executor
+	 */
+	public static synchronized ExecutorService get() {
+		if (executor == null) {
+			executor = newVirtualThreadExecutor();
+			if (executor == null) {
+				executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE, TimeUnit.SECONDS,
+						new SynchronousQueue<Runnable>(), new ThreadFactory() {
+							private final AtomicInteger count = new AtomicInteger();
+
+							@Override
+							public Thread newThread(Runnable r) {
+								Thread thread = new Thread(r,
+										InventoryThread.class.getSimpleName() + "-" + count.incrementAndGet());
+								thread.setDaemon(true);
+								return thread;
+							}
+						});
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * @return The executor starting a virtual thread per task or
+	 *         <code>null</code> if virtual threads are not supported
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			// available since Java 21
+			ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+			if (log.isLoggable(Level.FINE)) {
+				log.log(Level.FINE, "Running inventories on virtual threads");
+			}
+			return executor;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Stops the executor. Running inventories are interrupted, a new executor
+	 * is created on the next call of {@link #get()}.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
@@ -1,18 +1,14 @@
 package havis.net.aim.device.rf;
 
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.bind.DatatypeConverter;
-
 import havis.device.rf.tag.TagData;
+import havis.device.rf.tag.result.OperationResult;
+import havis.device.rf.tag.result.ReadResult;
 import havis.net.aim.xsd.CodeTypeEnumeration;
 import havis.net.aim.xsd.RfidScanResult;
-import havis.net.aim.xsd.RfidSighting;
 import havis.net.aim.xsd.ScanData;
 import havis.net.aim.xsd.ScanDataEpc;
 import havis.net.aim.xsd.TagSet;
@@ -20,54 +16,76 @@ import havis.net.aim.xsd.TagSet;
 public class InventoryTagProcessor {
 
 	private TagSet tagSet;
-	private Map<Short, Short> powerMap;
+	// antennaId -> transmit power
+	private short[] powerLevels;
 
-	private Map<String, RfidScanResult> currentScanResultMap = new HashMap<>();
-	private Map<String, RfidScanResult> lastScanResultMap = new HashMap<>();
+	private EpcMap<BufferedRfidScanResult> currentScanResultMap = new EpcMap<>();
+	private EpcMap<BufferedRfidScanResult> lastScanResultMap = new EpcMap<>();
+	// sighting buffers of the current results are reused after an event
+	private List<SightingBuffer> sightingBufferPool = new ArrayList<>();
 	private Integer eventMaxSightingCount;
 	private Integer totalMaxSightingCount;
-	private Map<String, Integer> totalSightingCounts = new HashMap<>();
+	// EPC -> total sighting count (single element array to be incremented in place)
+	private EpcMap<int[]> totalSightingCounts = new EpcMap<>();
 
 	public InventoryTagProcessor(TagSet tagSet, Map<Short, Short> powerMap, Integer eventMaxSightingCount,
 			Integer totalMaxSightingCount) {
 		this.tagSet = tagSet;
-		this.powerMap = powerMap;
+		this.powerLevels = toPowerLevels(powerMap);
 		this.eventMaxSightingCount = eventMaxSightingCount;
 		this.totalMaxSightingCount = totalMaxSightingCount;
 	}
 
-	public Map<String, RfidScanResult> getCurrentScanResultMap() {
+	public EpcMap<BufferedRfidScanResult> getCurrentScanResultMap() {
 		return currentScanResultMap;
 	}
 
-	public Map<String, RfidScanResult> getLastScanResultMap() {
+	public EpcMap<BufferedRfidScanResult> getLastScanResultMap() {
 		return lastScanResultMap;
 	}
 
 	public List<RfidScanResult> generateScanEvents() {
 		List<RfidScanResult> scanEvents = new ArrayList<>();
+
+		/*
+		 * hand a trimmed copy of the sightings to each current result and
+		 * return the buffers to the pool
+		 */
+		for (int i = 0; i < currentScanResultMap.size(); i++) {
+			BufferedRfidScanResult rsr = currentScanResultMap.valueAt(i);
+			SightingBuffer buffer = rsr.getSightingBuffer();
+			rsr.setSightingBuffer(buffer.copy());
+			buffer.clear();
+			sightingBufferPool.add(buffer);
+		}
+
 		switch (tagSet) {
 		case CURRENT:
-			scanEvents.addAll(currentScanResultMap.values());
+			for (int i = 0; i < currentScanResultMap.size(); i++) {
+				scanEvents.add(currentScanResultMap.valueAt(i));
+			}
 			break;
 		case ADDITIONS:
-			HashSet<String> tagAdditions = new HashSet<>(currentScanResultMap.keySet());
-			tagAdditions.removeAll(lastScanResultMap.keySet());
-			for (String tag : tagAdditions) {
-				scanEvents.add(currentScanResultMap.get(tag));
+			for (int i = 0; i < currentScanResultMap.size(); i++) {
+				if (!lastScanResultMap.containsKey(currentScanResultMap.keyAt(i), currentScanResultMap.hashAt(i))) {
+					scanEvents.add(currentScanResultMap.valueAt(i));
+				}
 			}
 			break;
 		case DELETIONS:
-			HashSet<String> tagDeletions = new HashSet<>(lastScanResultMap.keySet());
-			tagDeletions.removeAll(currentScanResultMap.keySet());
-			for (String tag : tagDeletions) {
-				scanEvents.add(lastScanResultMap.get(tag));
+			for (int i = 0; i < lastScanResultMap.size(); i++) {
+				if (!currentScanResultMap.containsKey(lastScanResultMap.keyAt(i), lastScanResultMap.hashAt(i))) {
+					scanEvents.add(lastScanResultMap.valueAt(i));
+				}
 			}
 			break;
 		}
 
+		// swap the maps and reuse the allocated capacity of the older one
+		EpcMap<BufferedRfidScanResult> map = lastScanResultMap;
 		lastScanResultMap = currentScanResultMap;
-		currentScanResultMap = new HashMap<>();
+		currentScanResultMap = map;
+		currentScanResultMap.clear();
 
 		return scanEvents;
 	}
@@ -79,42 +97,116 @@ public class InventoryTagProcessor {
 
 		boolean sightingsLimitReached = false;
 		for (TagData tag : tags) {
-			String epcStr = DatatypeConverter.printHexBinary(tag.getEpc());
-			RfidScanResult rsr = currentScanResultMap.get(epcStr);
+			byte[] epc = tag.getEpc();
+			int hash = EpcMap.hash(epc);
+			BufferedRfidScanResult rsr = currentScanResultMap.get(epc, hash);
 			if (rsr == null) {
-				rsr = new RfidScanResult();
+				rsr = new BufferedRfidScanResult(sightingBufferPool.isEmpty() ? new SightingBuffer()
+						: sightingBufferPool.remove(sightingBufferPool.size() - 1));
 				rsr.setCodeType(CodeTypeEnumeration.EPC);
 				rsr.setScanData(new ScanData());
 				rsr.getScanData().setEpc(new ScanDataEpc());
 				rsr.getScanData().getEpc().setPc(DataTypeConverter.ushort(tag.getPc()));
-				rsr.getScanData().getEpc().setUid(tag.getEpc());
-				rsr.setTimeStamp(new Date().getTime());
-				currentScanResultMap.put(epcStr, rsr);
+				rsr.getScanData().getEpc().setUid(epc);
+				rsr.setTimeStamp(System.currentTimeMillis());
+				// keep the data read during a previous cycle
+				BufferedRfidScanResult lastRsr = lastScanResultMap.get(epc, hash);
+				if (lastRsr != null)
+					rsr.setReadData(lastRsr.getReadData());
+				currentScanResultMap.put(epc, hash, rsr);
 			}
+			setReadData(rsr, tag);
 
-			RfidSighting rs = new RfidSighting();
-			rs.setAntennaId(tag.getAntennaID());
-			rs.setStrength(tag.getRssi());
-			rs.setTimestamp(new Date().getTime());
-
-			rs.setCurrentPowerLevel(powerMap.get(tag.getAntennaID()));
-			rsr.getSightings().add(rs);
+			short antennaId = tag.getAntennaID();
+			rsr.getSightingBuffer().add(antennaId, tag.getRssi(), System.currentTimeMillis(),
+					antennaId >= 0 && antennaId < powerLevels.length ? powerLevels[antennaId] : 0);
+			int sightingCount = rsr.getSightingBuffer().size();
 
 			if (totalMaxSightingCount != null) {
-				Integer tsc = totalSightingCounts.get(epcStr);
+				int[] tsc = totalSightingCounts.get(epc, hash);
 				if (tsc == null) {
-					tsc = 0;
+					tsc = new int[1];
+					totalSightingCounts.put(epc, hash, tsc);
 				}
-				tsc += rsr.getSightings().size();
-				totalSightingCounts.put(epcStr, tsc);
-				if (tsc >= totalMaxSightingCount) {
+				tsc[0] += sightingCount;
+				if (tsc[0] >= totalMaxSightingCount) {
 					sightingsLimitReached = true;
 				}
 			}
-			if (eventMaxSightingCount != null && rsr.getSightings().size() >= eventMaxSightingCount) {
+			if (eventMaxSightingCount != null && sightingCount >= eventMaxSightingCount) {
 				sightingsLimitReached = true;
 			}
 		}
 		return sightingsLimitReached;
 	}
+
+	/**
+	 * Takes the data read from the tags without adding sightings. Used for
+	 * tags which have been processed before their operations were executed.
+	 * Only the current results are changed, results which have already been
+	 * sent by an event are left untouched.
+	 *
+	 * @param tags
+	 *            the tags with their operation results
+	 */
+	public void processReadResults(List<TagData> tags) {
+		if (tags == null) {
+			return;
+		}
+		for (TagData tag : tags) {
+			BufferedRfidScanResult rsr = currentScanResultMap.get(tag.getEpc());
+			if (rsr != null) {
+				setReadData(rsr, tag);
+			}
+		}
+	}
+
+	/**
+	 * @param epc
+	 *            the EPC of the tag
+	 * @return Whether data has already been read from the tag during the scan
+	 */
+	public boolean isRead(byte[] epc) {
+		BufferedRfidScanResult rsr = getScanResult(epc);
+		return rsr != null && rsr.getReadData() != null;
+	}
+
+	/*
+	 * the result of the tag may have been moved to the last map by an event
+	 * meanwhile
+	 */
+	private BufferedRfidScanResult getScanResult(byte[] epc) {
+		int hash = EpcMap.hash(epc);
+		BufferedRfidScanResult rsr = currentScanResultMap.get(epc, hash);
+		return rsr == null ? lastScanResultMap.get(epc, hash) : rsr;
+	}
+
+	private static void setReadData(BufferedRfidScanResult rsr, TagData tag) {
+		if (rsr.getReadData() != null || tag.getResultList() == null) {
+			return;
+		}
+		for (OperationResult result : tag.getResultList()) {
+			if (result instanceof ReadResult && ((ReadResult) result).getResult() == ReadResult.Result.SUCCESS) {
+				rsr.setReadData(((ReadResult) result).getReadData());
+				return;
+			}
+		}
+	}
+
+	private static short[] toPowerLevels(Map<Short, Short> powerMap) {
+		if (powerMap == null) {
+			return new short[0];
+		}
+		int length = 0;
+		for (Short antennaId : powerMap.keySet()) {
+			length = Math.max(length, antennaId + 1);
+		}
+		short[] powerLevels = new short[length];
+		for (Map.Entry<Short, Short> entry : powerMap.entrySet()) {
+			if (entry.getKey() >= 0 && entry.getValue() != null) {
+				powerLevels[entry.getKey()] = entry.getValue();
+			}
+		}
+		return powerLevels;
+	}
 }
@@ -1,67 +1,81 @@
 package havis.net.aim.device.rf;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-
-import javax.xml.bind.DatatypeConverter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import havis.device.rf.RFDevice;
-import havis.device.rf.capabilities.Capabilities;
-import havis.device.rf.capabilities.CapabilityType;
-import havis.device.rf.capabilities.RegulatoryCapabilities;
-import havis.device.rf.capabilities.TransmitPowerTableEntry;
-import havis.device.rf.configuration.AntennaConfiguration;
-import havis.device.rf.configuration.Configuration;
-import havis.device.rf.configuration.ConfigurationType;
 import havis.device.rf.exception.CommunicationException;
 import havis.device.rf.exception.ConnectionException;
 import havis.device.rf.exception.ImplementationException;
 import havis.device.rf.exception.ParameterException;
 import havis.device.rf.tag.Filter;
 import havis.device.rf.tag.TagData;
+import havis.device.rf.tag.operation.ReadOperation;
 import havis.device.rf.tag.operation.TagOperation;
 import havis.net.aim.opcua.Constants.EventType;
 import havis.net.aim.opcua.Environment;
 import havis.net.aim.opcua.LastScanDataChangeListener;
 import havis.net.aim.opcua.RfidDeviceEventListener;
-import havis.net.aim.xsd.CodeTypeEnumeration;
 import havis.net.aim.xsd.RfidScanResult;
-import havis.net.aim.xsd.RfidSighting;
 import havis.net.aim.xsd.ScanData;
-import havis.net.aim.xsd.ScanDataEpc;
 import havis.net.aim.xsd.ScanSettings;
 import havis.net.aim.xsd.TagSet;
+import havis.opcua.message.exception.ApplicationException;
+
+public class InventoryThread implements Runnable, RFDeviceConnectionManager.TagListener {
+
+	private static final Logger log = Logger.getLogger(InventoryThread.class.getName());
+
+	/* max. time in ms to wait for the inventory to be stopped */
+	private static final long STOP_TIMEOUT = 500;
+
+	/* max. time in ms to wait for the inventory to start a tag access */
+	private static final long ACCESS_TIMEOUT = 500;
 
-public class InventoryThread implements Runnable {
 	private ScanSettings scanSettings;
 	InventoryTagProcessor tagProcessor;
 	// antennaId -> transmit power in mW
-	private HashMap<Short, Short> powerMap;
+	private Map<Short, Short> powerMap;
 	private RFDevice rfDevice;
+	private RfConfigurationCache configurationCache;
 	private int cycles;
-	private boolean running;
-	private boolean suspended;
-	private Lock scanLock;
-	private Condition inventoryFinished;
-	private Condition inventoryStopped;
-	private Condition inventorySuspended;
-	private Condition inventoryResumed;
-
-	private boolean sigInventoryFinished;
-	private boolean sigInventoryStopped;
-	private boolean sigInventorySuspended;
-	private boolean sigInventoryResumed;
+	private volatile long firstReadTime;
+	private volatile boolean running;
+
+	/* lock for the running flag and the tag accesses */
+	private final Object accessLock = new Object();
+
+	/* tag accesses run by the inventory between two cycles */
+	private final Queue<FutureTask<?>> accessTasks = new ArrayDeque<>();
+	private boolean accessAccepted;
+
+	/*
+	 * lock for processing tags and sending scan events (events are sent by the
+	 * scheduler in parallel to the inventory)
+	 */
+	private final Lock flushLock = new ReentrantLock();
+	private ScheduledFuture<?> flushTask;
+	private boolean flushActive;
 
 	private List<Short> antennas;
 	private Throwable error;
@@ -69,15 +83,34 @@ public class InventoryThread implements Runnable {
 	private ScanData lastScanData;
 	private ScanData currentScanData;
 	private RfidDeviceEventListener scanEventListener;
-	private long eventsSent = 0L;
 	private boolean sightingsLimitReached;
+
+	/* set while the tags of an inventory cycle are reported by the RF device */
+	private volatile boolean streaming;
+	/*
+	 * set until the data read from the tags of the current cycle has been
+	 * taken, the results are not sent meanwhile
+	 */
+	private boolean readPending;
+	/* number of tags of the current cycle processed when they were reported */
+	private int streamedTags;
+	/*
+	 * operation reading the configured memory bank of each reported tag,
+	 * null if no data is read during the scan
+	 */
+	private List<TagOperation> readOperations = newReadOperations();
 	private Integer eventMaxSightingCount;
 	private Integer totalMaxSightingCount;
 
 	private TagSet tagSet = TagSet.CURRENT;
 
 	public InventoryThread(RFDevice rfDevice) {
+		this(rfDevice, new RfConfigurationCache());
+	}
+
+	public InventoryThread(RFDevice rfDevice, RfConfigurationCache configurationCache) {
 		this.rfDevice = rfDevice;
+		this.configurationCache = configurationCache;
 	}
 
 	private void inventory() {
@@ -87,6 +120,7 @@ public class InventoryThread implements Runnable {
 
 		/* set cycle count to 0 */
 		cycles = 0;
+		firstReadTime = 0;
 
 		/* reset the sightingsLimitReached flag */
 		sightingsLimitReached = false;
@@ -94,6 +128,9 @@ public class InventoryThread implements Runnable {
 		/* create a new map for the results */
 		tagProcessor = new InventoryTagProcessor(tagSet, powerMap, eventMaxSightingCount, totalMaxSightingCount);
 
+		/* send scan events periodically independent of the cycle length */
+		startFlushTask();
+
 		/* as long as running flag is set... */
 		while (running) {
 
@@ -101,50 +138,66 @@ public class InventoryThread implements Runnable {
 			List<TagData> tags = null;
 			try {
 
-				if (suspended) {
-					signalSuspended();
-					try {
-						Thread.sleep(100);
-					} catch (Exception e) {
-					}
-				} else if (running) {
-					/*
-					 * call execute with empty filters and operations list to
-					 * perform inventory
-					 */
-					tags = this.rfDevice.execute(this.antennas, new ArrayList<Filter>(), new ArrayList<TagOperation>());
-
-					// process results
-					// this.processScanResult(tags);
-					sightingsLimitReached = tagProcessor.process(tags);
+				/* run the pending tag accesses before the next cycle */
+				runAccessTasks();
+
+				/*
+				 * call execute with empty filters and operations list to
+				 * perform inventory
+				 */
+				flushLock.lock();
+				try {
+					streamedTags = 0;
+					streaming = true;
+					readPending = readOperations != null;
+				} finally {
+					flushLock.unlock();
+				}
+				try {
+					tags = this.rfDevice.execute(this.antennas, new ArrayList<Filter>(),
+							new ArrayList<TagOperation>());
+				} finally {
+					streaming = false;
+				}
+
+				// process results
+				flushLock.lock();
+				try {
+					/* the reported tags have already been processed */
+					if (streamedTags == 0 && tagProcessor.process(tags))
+						sightingsLimitReached = true;
+					else if (streamedTags > 0 && readOperations != null)
+						tagProcessor.processReadResults(tags);
+					readPending = false;
 					if (tags == null || tags.isEmpty()) {
 						currentScanData = null;
 					} else {
-						// get scan data of last tag
+						// get scan data of last tag, the result may have been
+						// sent by an event meanwhile
 						TagData lastTag = tags.get(tags.size() - 1);
-						String epcStr = DatatypeConverter.printHexBinary(lastTag.getEpc());
-						RfidScanResult rsr = tagProcessor.getCurrentScanResultMap().get(epcStr);
-						currentScanData = rsr.getScanData();
+						RfidScanResult rsr = tagProcessor.getCurrentScanResultMap().get(lastTag.getEpc());
+						if (rsr == null)
+							rsr = tagProcessor.getLastScanResultMap().get(lastTag.getEpc());
+						currentScanData = rsr == null ? null : rsr.getScanData();
 					}
-
-					/* increment the cycle count */
-					cycles++;
+				} finally {
+					flushLock.unlock();
 				}
 
-				if (!suspended)
-					signalResumed();
+				if (firstReadTime == 0 && tags != null && !tags.isEmpty())
+					firstReadTime = System.nanoTime();
+
+				/* increment the cycle count */
+				cycles++;
 
 			} catch (ParameterException | CommunicationException | ImplementationException | ConnectionException e) {
 				this.error = e;
 				// fire scan events
-				fireScanEvents(tagProcessor.generateScanEvents());
+				stopFlushTask();
 
 				/* unset the running flag */
 				running = false;
 
-				/* send signal that inventory cycle is finished */
-				signalFinished();
-
 				return;
 			}
 
@@ -155,25 +208,17 @@ public class InventoryThread implements Runnable {
 			if (this.sightingsLimitReached || this.scanSettings.getCycles() > 0 && cycles == scanSettings.getCycles()
 					|| scanSettings.isDataAvailable() && null != tags && tags.size() > 0) {
 				// fire scan events
-				fireScanEvents(tagProcessor.generateScanEvents());
+				stopFlushTask();
 
 				/* unset the running flag */
 				running = false;
 
-				/* send signal that inventory cycle is finished */
-				signalFinished();
-
 				return;
-			} // else if inventory has been stopped or the event interval has
-				// elapsed
-			else if (!running || eventsSent + Environment.EVENT_INTERVAL < new Date().getTime()) {
-				// fire scan events
-				fireScanEvents(tagProcessor.generateScanEvents());
 			}
 		}
 
-		signalFinished();
-		signalStopped();
+		// fire remaining scan events
+		stopFlushTask();
 
 	}
 
@@ -181,105 +226,53 @@ public class InventoryThread implements Runnable {
 		this.tagSet = tagSet;
 	}
 
-	@Deprecated
-	private synchronized void processScanResult(List<TagData> tags) {
-		Map<String, RfidScanResult> scanResultMap = new HashMap<>();
-
-		if (tags.isEmpty())
-			currentScanData = null;
-
-		Set<String> tagDeletions = null;
-		Set<String> tagAdditions = null;
-
-		/*
-		 * determine tag additions and deletions if eventListener is registered
-		 * and eventMode is ADDIONS or DELETIONS
-		 */
-		if (scanEventListener != null && (tagSet == TagSet.ADDITIONS || tagSet == TagSet.DELETIONS)) {
-			Set<String> previousTagList = scanResultMap.keySet();
-			Set<String> currentTagList = new HashSet<>();
-			for (TagData tag : tags)
-				currentTagList.add(DatatypeConverter.printHexBinary(tag.getEpc()));
-
-			tagDeletions = new HashSet<>(previousTagList);
-			tagDeletions.removeAll(currentTagList);
-
-			tagAdditions = new HashSet<>(currentTagList);
-			tagAdditions.removeAll(previousTagList);
-
-			/* remove all tag deletions from the scanResult map */
-			for (String epc : tagDeletions) {
-				RfidScanResult rsr = scanResultMap.remove(epc);
-
-				/* fire scan event if eventMode is DELETIONS */
-				if (tagSet == TagSet.DELETIONS)
-					fireScanEvent(rsr);
-			}
+	private void startFlushTask() {
+		final InventoryTagProcessor processor = tagProcessor;
+		flushLock.lock();
+		try {
+			flushActive = true;
+		} finally {
+			flushLock.unlock();
 		}
-
-		for (TagData tag : tags) {
-
-			String epcStr = DatatypeConverter.printHexBinary(tag.getEpc());
-			RfidScanResult rsr = scanResultMap.get(epcStr);
-
-			if (rsr == null) {
-				scanResultMap.put(epcStr, rsr = new RfidScanResult());
-				rsr.setCodeType(CodeTypeEnumeration.EPC);
-				rsr.setScanData(new ScanData());
-				rsr.getScanData().setEpc(new ScanDataEpc());
-				rsr.getScanData().getEpc().setPc(DataTypeConverter.ushort(tag.getPc()));
-				rsr.getScanData().getEpc().setUid(tag.getEpc());
-				rsr.setTimeStamp(new Date().getTime());
+		flushTask = Scheduler.get().scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					flush(processor, false);
+				} catch (RuntimeException e) {
+					// keep the task scheduled
+					log.log(Level.SEVERE, "Failed to send scan events", e);
+				}
 			}
+		}, Environment.EVENT_INTERVAL, Environment.EVENT_INTERVAL, TimeUnit.MILLISECONDS);
+	}
 
-			RfidSighting rs = new RfidSighting();
-			rs.setAntennaId(tag.getAntennaID());
-			rs.setStrength(tag.getRssi());
-			rs.setTimestamp(new Date().getTime());
-
-			rs.setCurrentPowerLevel(this.powerMap.get(tag.getAntennaID()));
-			rsr.getSightings().add(rs);
-
-			/*
-			 * fire event if event listener is registered, eventMode is CURRENT
-			 * and event interval is elapsed
-			 */
-			if (this.scanEventListener != null && tagSet == TagSet.CURRENT
-					&& eventsSent + Environment.EVENT_INTERVAL < new Date().getTime())
-				for (RfidScanResult r : scanResultMap.values())
-					fireScanEvent(r);
-
-			/*
-			 * if sightings exceeds specified maximum (sightings are reset by
-			 * firing events) set sightingsLimitReached flag leading to scan
-			 * process being stopped
-			 */
-			if (rsr.getSightings().size() >= Environment.MAXIMUM_SIGHTINGS)
-				this.sightingsLimitReached = true;
-
-			currentScanData = rsr.getScanData();
+	/**
+	 * Cancels the periodic task and sends the remaining scan events
+	 */
+	private void stopFlushTask() {
+		if (flushTask != null) {
+			flushTask.cancel(false);
+			flushTask = null;
 		}
-
-		/*
-		 * fire scan event for each addition if eventListener is registered and
-		 * eventMode is ADDIONS
-		 */
-		if (scanEventListener != null && tagSet == TagSet.ADDITIONS && tagAdditions != null)
-			for (String epc : tagAdditions)
-				fireScanEvent(scanResultMap.get(epc));
+		flush(tagProcessor, true);
 	}
 
-	@Deprecated
-	private void fireScanEvent(RfidScanResult rsr) {
-		if (scanEventListener == null)
-			return;
-
-		Map<String, Object> eventArgs = new HashMap<>();
-		eventArgs.put(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT, rsr);
-		this.scanEventListener.rfidEventOccured(this, EventType.RFID_SCAN_EVENT, new Date(), eventArgs);
-		setLastScanData(rsr.getScanData());
-		eventsSent = new Date().getTime();
-		rsr.getSightings().clear();
+	private void flush(InventoryTagProcessor processor, boolean last) {
+		flushLock.lock();
+		try {
+			/* ignore outdated runs of the periodic task */
+			if (!flushActive || processor != tagProcessor)
+				return;
+			if (last)
+				flushActive = false;
+			/* the results are sent with the data read during the cycle */
+			else if (readPending)
+				return;
+			fireScanEvents(tagProcessor.generateScanEvents());
+		} finally {
+			flushLock.unlock();
+		}
 	}
 
 	private void fireScanEvents(List<RfidScanResult> scanResults) {
@@ -294,14 +287,13 @@ public class InventoryThread implements Runnable {
 			RfidScanResult lastScanResult = scanResults.get(scanResults.size() - 1);
 			setLastScanData(lastScanResult.getScanData());
 		}
-		eventsSent = new Date().getTime();
 	}
 
 	private void setLastScanData(ScanData scanData) {
 		this.scanDataListener.lastScanDataChanged(this, this.lastScanData, this.lastScanData = scanData);
 	}
 
-	public Collection<RfidScanResult> startInventory(ScanSettings scanSettings, Lock scanLock, List<Short> antennas,
+	public Collection<RfidScanResult> startInventory(ScanSettings scanSettings, List<Short> antennas,
 			LastScanDataChangeListener scanDataListener) throws ConnectionException, ImplementationException {
 		/*
 		 * event listener to be notified of scan data changes (notified by
@@ -328,7 +320,10 @@ public class InventoryThread implements Runnable {
 					if (Arrays.equals(scanResult.getScanData().getEpc().getUid(),
 							rsr.getScanData().getEpc().getUid())) {
 						// add sightings to existing scan result
-						scanResult.getSightings().addAll(rsr.getSightings());
+						if (scanResult instanceof BufferedRfidScanResult && rsr instanceof BufferedRfidScanResult)
+							((BufferedRfidScanResult) scanResult).addSightings((BufferedRfidScanResult) rsr);
+						else
+							scanResult.getSightings().addAll(rsr.getSightings());
 						found = true;
 						break;
 					}
@@ -350,74 +345,29 @@ public class InventoryThread implements Runnable {
 		/* set the scan settings instance variable */
 		this.scanSettings = scanSettings;
 
-		/* set the scan lock instance variable */
-		this.scanLock = scanLock;
-
-		/* create a new condition for receiving an inventory finished signal */
-		this.inventoryFinished = scanLock.newCondition();
-
 		/* build the current power map */
 		this.powerMap = this.buildCurrentPowerMap();
 
 		this.eventMaxSightingCount = null;
 		this.totalMaxSightingCount = Environment.MAXIMUM_SIGHTINGS;
 
-		/* start the inventory thread performing an inventory repeatedly */
-		new Thread(this, InventoryThread.class.getSimpleName()).start();
+		/* start the inventory performing an inventory repeatedly */
+		reset();
+		Future<?> inventory = InventoryExecutor.get().submit(this);
 
-		/* flag if inventory has finished gracefully or has to be stopped */
-		boolean invFinished = false;
-
-		/* protection against spurious wakeups */
-		sigInventoryFinished = false;
-		sigInventoryStopped = false;
-
-		/* get the duration from the scan settings */
-		double duration = scanSettings.getDuration();
-
-		if (duration > 0) {
-			/*
-			 * wait for the given duration for the inventory thread to finish
-			 */
-
-			long now = new Date().getTime();
-			long waitUntil = now + (long) duration;
-			while (!sigInventoryFinished && now < waitUntil) {
-				try {
-					invFinished = this.inventoryFinished.awaitUntil(new Date(waitUntil));
-				} catch (InterruptedException e) {
-				}
-				now = new Date().getTime();
-			}
-		} else {
-			/* wait infinitely... */
-			while (!sigInventoryFinished)
-				try {
-					this.inventoryFinished.await();
-				} catch (InterruptedException e) {
-				}
-
-			invFinished = true;
-		}
+		/*
+		 * wait for the given duration (or infinitely) for the inventory to
+		 * finish
+		 */
+		boolean invFinished = awaitFinished(inventory, (long) scanSettings.getDuration());
 
-		/* if inventory thread did not finish within the given duration */
+		/* if inventory did not finish within the given duration */
 		if (!invFinished) {
-			/*
-			 * send a stop inventory request returning a new condition to be
-			 * signaled once the inventory has been stopped
-			 */
-			Condition inventoryStopped = this.stopInventory();
+			/* send a stop inventory request */
+			this.stopInventory();
 
-			/* wait for the inventory stopped signal (max 500ms) */
-			long now = new Date().getTime();
-			long waitUntil = now + 500;
-			while (!sigInventoryStopped && now < waitUntil) {
-				try {
-					inventoryStopped.awaitUntil(new Date(waitUntil));
-				} catch (InterruptedException e) {
-				}
-				now = new Date().getTime();
-			}
+			/* wait for the inventory to finish the current cycle */
+			awaitFinished(inventory, STOP_TIMEOUT);
 		}
 
 		setLastScanData(currentScanData);
@@ -437,9 +387,11 @@ public class InventoryThread implements Runnable {
 
 		/*
 		 * event listener to be notified of scan events (i.e. new tag appears in
-		 * field)
+		 * field), the events are delivered by a separate thread to not delay
+		 * the inventory
 		 */
-		this.scanEventListener = scanEventListener;
+		final ScanEventDispatcher dispatcher = new ScanEventDispatcher(scanEventListener);
+		this.scanEventListener = dispatcher;
 
 		/* set the antennas list on with to run the inventory */
 		this.antennas = antennas;
@@ -453,128 +405,143 @@ public class InventoryThread implements Runnable {
 		this.eventMaxSightingCount = Environment.MAXIMUM_SIGHTINGS;
 		this.totalMaxSightingCount = null;
 
-		/*
-		 * Start thread that calls the inventory thread and waits asynchronously
-		 * for it to finish
-		 */
-		new Thread(new Runnable() {
-			public void run() {
+		dispatcher.start();
+		reset();
 
-				InventoryThread invThread = InventoryThread.this;
-				invThread.scanLock = new ReentrantLock();
-				invThread.inventoryFinished = invThread.scanLock.newCondition();
-				boolean invFinished = false;
+		/* send a stop inventory request after the given duration */
+		long duration = (long) scanSettings.getDuration();
+		final ScheduledFuture<?> stopTask = duration > 0 ? Scheduler.get().schedule(new Runnable() {
+			@Override
+			public void run() {
+				stopInventory();
+			}
+		}, duration, TimeUnit.MILLISECONDS) : null;
 
+		/* start the inventory, it finishes the scan itself */
+		InventoryExecutor.get().execute(new Runnable() {
+			@Override
+			public void run() {
 				try {
-					invThread.scanLock.lock();
-					new Thread(invThread, InventoryThread.class.getSimpleName()).start();
-					double duration = invThread.scanSettings.getDuration();
-					if (duration > 0)
-						invFinished = invThread.inventoryFinished.await((long) duration, TimeUnit.MILLISECONDS);
-					else {
-						invThread.inventoryFinished.await();
-						invFinished = true;
-					}
-				} catch (InterruptedException e) {
-					e.printStackTrace();
+					InventoryThread.this.run();
 				} finally {
-					invThread.scanLock.unlock();
-				}
-
-				if (!invFinished) {
-
-					/*
-					 * send a stop inventory request returning a new condition
-					 * to be signaled once the inventory has been stopped
-					 */
-					Condition invStopped = invThread.stopInventory();
-
-					/* wait for the inventory stopped signal */
-					try {
-						invThread.scanLock.lock();
-						invStopped.await();
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					} finally {
-						invThread.scanLock.unlock();
-					}
+					if (stopTask != null)
+						stopTask.cancel(false);
+					/* deliver the remaining events before finishing */
+					dispatcher.scanAsyncFinished(InventoryThread.this);
 				}
-				invThread.scanEventListener.scanAsyncFinished(this);
-			};
-		}, "InventoryThreadObserver").start();
+			}
+		});
 	}
 
 	public void stopInventoryAsync() {
 		this.stopInventory();
 	}
 
-	private HashMap<Short, Short> buildCurrentPowerMap() throws ConnectionException, ImplementationException {
-
-		boolean unitIsMw = true;
-		HashMap<Short, Short> powerMap = new HashMap<>();
-
-		List<Capabilities> caps = this.rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
-		RegulatoryCapabilities regCaps = (RegulatoryCapabilities) caps.get(0);
-
-		List<Configuration> configs = this.rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0,
-				(short) 0, (short) 0);
+	private Map<Short, Short> buildCurrentPowerMap() throws ConnectionException, ImplementationException {
+		try {
+			return configurationCache.getPowerMap(rfDevice);
+		} catch (ApplicationException e) {
+			throw new ImplementationException("Cannot get the transmit power table", e);
+		}
+	}
 
-		for (Configuration config : configs) {
-			AntennaConfiguration aConfig = (AntennaConfiguration) config;
-			short pwrIndex = aConfig.getTransmitPower();
-			for (TransmitPowerTableEntry e : regCaps.getTransmitPowerTable().getEntryList())
-				if (e.getIndex() == pwrIndex)
-					powerMap.put(aConfig.getId(),
-							unitIsMw ? (short) TxLevel.fromDBm(e.getTransmitPower()).mW : e.getTransmitPower());
+	/**
+	 * Processes a tag as soon as it has been reported by the RF device during
+	 * an inventory cycle. The tags returned by the RF device at the end of the
+	 * cycle are not processed again. The result is sent immediately if the
+	 * scan finishes when data is available and no data is read.
+	 *
+	 * @return The operation reading the configured memory bank if the tag
+	 *         has not been read during the scan yet, <code>null</code>
+	 *         otherwise
+	 */
+	@Override
+	public List<TagOperation> tagReported(TagData tag) {
+		if (!streaming)
+			return null;
+		InventoryTagProcessor processor;
+		boolean read;
+		flushLock.lock();
+		try {
+			/* not reported by an inventory cycle */
+			if (!streaming)
+				return null;
+			processor = tagProcessor;
+			streamedTags++;
+			if (processor.process(Collections.singletonList(tag)))
+				sightingsLimitReached = true;
+			read = readOperations != null && !processor.isRead(tag.getEpc());
+		} finally {
+			flushLock.unlock();
 		}
+		if (firstReadTime == 0)
+			firstReadTime = System.nanoTime();
+		/* the result is sent with the read data at the end of the cycle */
+		if (scanSettings.isDataAvailable() && readOperations == null)
+			flush(processor, false);
+		return read ? readOperations : null;
+	}
 
-		return powerMap;
+	/**
+	 * @return The operation reading the memory bank configured by
+	 *         {@link Environment#SCAN_READ_BANK} or <code>null</code> if no
+	 *         bank is configured
+	 */
+	private static List<TagOperation> newReadOperations() {
+		if (Environment.SCAN_READ_BANK < 0)
+			return null;
+		ReadOperation rdOp = new ReadOperation();
+		rdOp.setOperationId("scanRead");
+		rdOp.setBank((short) Environment.SCAN_READ_BANK);
+		rdOp.setOffset((short) Environment.SCAN_READ_OFFSET);
+		rdOp.setLength((short) Environment.SCAN_READ_LENGTH);
+		return Collections.<TagOperation> singletonList(rdOp);
 	}
 
-	public boolean suspendInventory() {
+	/**
+	 * Runs a tag access on the inventory thread between two inventory cycles
+	 * and waits for the result. The access is delayed by the current cycle at
+	 * most, it is dropped if the inventory does not start it in time.
+	 *
+	 * @param access
+	 *            the tag access
+	 * @return The result of the access
+	 * @throws RejectedExecutionException
+	 *             if the inventory has already finished
+	 * @throws ExecutionException
+	 *             if the access failed
+	 * @throws TimeoutException
+	 *             if the access has not been started by the inventory in time
+	 */
+	public <T> T access(Callable<T> access) throws InterruptedException, ExecutionException, TimeoutException {
+		FutureTask<T> task = new FutureTask<>(access);
+		synchronized (accessLock) {
+			if (!accessAccepted)
+				throw new RejectedExecutionException("Inventory finished");
+			accessTasks.add(task);
+		}
 		try {
-			scanLock.lock();
-			this.inventorySuspended = scanLock.newCondition();
-			this.suspended = true;
-			this.sigInventorySuspended = false;
-
-			long now = new Date().getTime();
-			long waitUntil = now + 500;
-			boolean res = false;
-			while (!sigInventorySuspended && waitUntil > now) {
-				res = this.inventorySuspended.awaitUntil(new Date(waitUntil));
-				now = new Date().getTime();
+			return task.get(ACCESS_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			synchronized (accessLock) {
+				/* the current cycle has not finished in time */
+				if (accessTasks.remove(task))
+					throw e;
 			}
-			return res;
-		} catch (InterruptedException e) {
-			return false;
-		} finally {
-			this.inventorySuspended = null;
-			scanLock.unlock();
+			/* the access is already running */
+			return task.get();
 		}
 	}
 
-	public boolean resumeInventory() {
-		try {
-			scanLock.lock();
-			this.inventoryResumed = scanLock.newCondition();
-			this.suspended = false;
-			this.sigInventoryFinished = false;
-
-			long now = new Date().getTime();
-			long waitUntil = now + 500;
-			boolean res = false;
-
-			while (!sigInventoryResumed && waitUntil > now) {
-				res = this.inventoryResumed.awaitUntil(new Date(waitUntil));
-				now = new Date().getTime();
+	private void runAccessTasks() {
+		for (;;) {
+			FutureTask<?> task;
+			synchronized (accessLock) {
+				task = accessTasks.poll();
 			}
-			return res;
-		} catch (InterruptedException e) {
-			return false;
-		} finally {
-			this.inventoryResumed = null;
-			scanLock.unlock();
+			if (task == null)
+				return;
+			task.run();
 		}
 	}
 
@@ -582,64 +549,76 @@ public class InventoryThread implements Runnable {
 		return error;
 	}
 
-	private Condition stopInventory() {
-		try {
-			scanLock.lock();
-			this.inventoryStopped = scanLock.newCondition();
-			this.running = false;
-		} finally {
-			scanLock.unlock();
-		}
-		return this.inventoryStopped;
+	/**
+	 * @return The value of {@link System#nanoTime()} when the first tag has
+	 *         been read by the inventory, 0 if no tag has been read
+	 */
+	public long getFirstReadTime() {
+		return firstReadTime;
 	}
 
-	private void signalFinished() {
-		try {
-			scanLock.lock();
-			sigInventoryFinished = true;
-			inventoryFinished.signal();
-		} finally {
-			scanLock.unlock();
+	/**
+	 * Sets the running flag before the inventory is started, a stop request
+	 * sent meanwhile is not lost
+	 */
+	private void reset() {
+		synchronized (accessLock) {
+			this.accessAccepted = true;
+			this.running = true;
 		}
 	}
 
-	private void signalStopped() {
+	/**
+	 * Waits for the inventory to finish
+	 *
+	 * @param inventory
+	 *            the future of the inventory
+	 * @param timeout
+	 *            max. time in ms to wait, infinite if less or equal zero
+	 * @return true if the inventory has finished
+	 */
+	private static boolean awaitFinished(Future<?> inventory, long timeout) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		boolean interrupted = false;
 		try {
-			scanLock.lock();
-			sigInventoryStopped = true;
-			inventoryStopped.signal();
+			for (;;) {
+				try {
+					if (timeout <= 0)
+						inventory.get();
+					else
+						inventory.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					return true;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					log.log(Level.SEVERE, "Inventory failed", e.getCause());
+					return true;
+				} catch (TimeoutException e) {
+					return false;
+				}
+			}
 		} finally {
-			scanLock.unlock();
+			if (interrupted)
+				Thread.currentThread().interrupt();
 		}
 	}
 
-	private void signalSuspended() {
-		if (this.inventorySuspended == null)
-			return;
-		try {
-			scanLock.lock();
-			sigInventorySuspended = true;
-			this.inventorySuspended.signal();
-		} finally {
-			scanLock.unlock();
+	private void stopInventory() {
+		synchronized (accessLock) {
+			this.running = false;
 		}
 	}
 
-	private void signalResumed() {
-		if (this.inventoryResumed == null)
-			return;
+	@Override
+	public void run() {
 		try {
-			scanLock.lock();
-			sigInventoryResumed = true;
-			this.inventoryResumed.signal();
+			inventory();
 		} finally {
-			scanLock.unlock();
+			/* run the remaining tag accesses */
+			synchronized (accessLock) {
+				accessAccepted = false;
+			}
+			runAccessTasks();
 		}
 	}
-
-	@Override
-	public void run() {
-		this.running = true;
-		inventory();
-	}
 }
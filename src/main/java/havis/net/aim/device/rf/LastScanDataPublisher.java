@@ -0,0 +1,142 @@
+package havis.net.aim.device.rf;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import havis.net.aim.opcua.LastScanDataChangeListener;
+import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.ScanDataEpc;
+
+/**
+ * Forwards changes of the last scan data to a listener. Scan data equal to
+ * the last forwarded one is ignored. Changes within the publishing interval
+ * are coalesced, the latest one is forwarded when the interval has elapsed.
+ */
+public class LastScanDataPublisher implements LastScanDataChangeListener {
+
+	private final LastScanDataChangeListener listener;
+	private final long interval;
+
+	private boolean published;
+	private ScanData publishedScanData;
+	private long publishedTime;
+
+	private boolean pending;
+	private ScanData pendingScanData;
+	private Object pendingSource;
+	private ScheduledFuture<?> trailingTask;
+
+	/**
+	 * @param listener
+	 *            the listener to forward the changes to
+	 * @param interval
+	 *            the min. time in ms between two changes, zero to forward
+	 *            each change immediately
+	 */
+	public LastScanDataPublisher(LastScanDataChangeListener listener, long interval) {
+		this.listener = listener;
+		this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+	}
+
+	@Override
+	public void lastScanDataChanged(Object source, ScanData oldScanData, ScanData newScanData) {
+		Change change = null;
+		synchronized (this) {
+			if (published && equals(publishedScanData, newScanData)) {
+				/* the change has been reverted within the interval */
+				pending = false;
+				pendingScanData = null;
+				pendingSource = null;
+				return;
+			}
+			if (pending && equals(pendingScanData, newScanData))
+				return;
+
+			long now = System.nanoTime();
+			long delay = published ? publishedTime + interval - now : 0;
+			if (delay <= 0) {
+				change = publish(source, newScanData, now);
+			} else {
+				pending = true;
+				pendingScanData = newScanData;
+				pendingSource = source;
+				if (trailingTask == null) {
+					trailingTask = Scheduler.get().schedule(new Runnable() {
+						@Override
+						public void run() {
+							publishPending();
+						}
+					}, delay, TimeUnit.NANOSECONDS);
+				}
+			}
+		}
+		/* the listener is called without holding the lock */
+		if (change != null)
+			change.forward();
+	}
+
+	private void publishPending() {
+		Change change = null;
+		synchronized (this) {
+			trailingTask = null;
+			if (pending)
+				change = publish(pendingSource, pendingScanData, System.nanoTime());
+		}
+		if (change != null)
+			change.forward();
+	}
+
+	/**
+	 * Marks the scan data as published
+	 * 
+	 * @return The change to forward to the listener
+	 */
+	private Change publish(Object source, ScanData scanData, long now) {
+		ScanData oldScanData = publishedScanData;
+		published = true;
+		publishedScanData = scanData;
+		publishedTime = now;
+		pending = false;
+		pendingScanData = null;
+		pendingSource = null;
+		return new Change(source, oldScanData, scanData);
+	}
+
+	private class Change {
+		private final Object source;
+		private final ScanData oldScanData;
+		private final ScanData newScanData;
+
+		Change(Object source, ScanData oldScanData, ScanData newScanData) {
+			this.source = source;
+			this.oldScanData = oldScanData;
+			this.newScanData = newScanData;
+		}
+
+		void forward() {
+			listener.lastScanDataChanged(source, oldScanData, newScanData);
+		}
+	}
+
+	/**
+	 * Compares the EPC, byte string and string of two scan data instances
+	 */
+	static boolean equals(ScanData s1, ScanData s2) {
+		if (s1 == s2)
+			return true;
+		if (s1 == null || s2 == null)
+			return false;
+		return equals(s1.getEpc(), s2.getEpc()) && Arrays.equals(s1.getByteString(), s2.getByteString())
+				&& Objects.equals(s1.getString(), s2.getString());
+	}
+
+	private static boolean equals(ScanDataEpc e1, ScanDataEpc e2) {
+		if (e1 == e2)
+			return true;
+		if (e1 == null || e2 == null)
+			return false;
+		return e1.getPc() == e2.getPc() && Arrays.equals(e1.getUid(), e2.getUid());
+	}
+}
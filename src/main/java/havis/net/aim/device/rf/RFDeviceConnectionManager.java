@@ -11,25 +11,56 @@ import havis.device.rf.tag.operation.TagOperation;
 
 public class RFDeviceConnectionManager extends ConnectionManager<Integer> implements RFConsumer {
 
+	/**
+	 * Listener for the tags reported by the RF device while executing
+	 */
+	public interface TagListener {
+		/**
+		 * @param tag
+		 *            the reported tag
+		 * @return The operations to execute on the tag, may be
+		 *         <code>null</code>
+		 */
+		List<TagOperation> tagReported(TagData tag);
+	}
+
 	private static final Logger log = Logger.getLogger(RFDeviceConnectionManager.class.getName());
 	private static final int CONNECT_TIMEOUT = 200;
 	private final int connection = 0;
 	private RFDevice rfDevice;
+	private final RfConfigurationCache configurationCache;
+	private volatile TagListener tagListener;
 
 	RFDeviceConnectionManager(RFDevice rfDevice) {
+		this(rfDevice, new RfConfigurationCache());
+	}
+
+	RFDeviceConnectionManager(RFDevice rfDevice, RfConfigurationCache configurationCache) {
 		this.rfDevice = rfDevice;
+		this.configurationCache = configurationCache;
 	}
 
 	public RFDevice getRfDevice() {
 		return rfDevice;
 	}
 
+	/**
+	 * @param tagListener
+	 *            the listener for the reported tags, <code>null</code> to
+	 *            remove the listener
+	 */
+	public void setTagListener(TagListener tagListener) {
+		this.tagListener = tagListener;
+	}
+
 	@Override
 	protected Integer open() throws Exception {
 		if (log.isLoggable(Level.INFO)) {
 			log.log(Level.INFO, "Opening connection to RF device");
 		}
 		rfDevice.openConnection(this, CONNECT_TIMEOUT);
+		// the configuration may have been changed while the connection was closed
+		configurationCache.invalidate();
 		return connection;
 	}
 
@@ -45,6 +76,7 @@ public class RFDeviceConnectionManager extends ConnectionManager<Integer> implem
 
 	@Override
 	public void connectionAttempted() {
+		configurationCache.invalidate();
 		try {
 			requestClosing(connection);
 		} catch (Exception e) {
@@ -56,8 +88,15 @@ public class RFDeviceConnectionManager extends ConnectionManager<Integer> implem
 	public void keepAlive() {
 	}
 
+	/**
+	 * Called by the RF device for each singulated tag, the tag is passed to
+	 * the tag listener which may request further operations on the tag.
+	 */
 	@Override
-	public List<TagOperation> getOperations(TagData arg0) {
+	public List<TagOperation> getOperations(TagData tag) {
+		TagListener tagListener = this.tagListener;
+		if (tagListener != null)
+			return tagListener.tagReported(tag);
 		return null;
 	}
 
@@ -0,0 +1,226 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import havis.device.rf.RFDevice;
+import havis.device.rf.capabilities.Capabilities;
+import havis.device.rf.capabilities.CapabilityType;
+import havis.device.rf.capabilities.RegulatoryCapabilities;
+import havis.device.rf.capabilities.TransmitPowerTableEntry;
+import havis.device.rf.configuration.AntennaConfiguration;
+import havis.device.rf.configuration.Configuration;
+import havis.device.rf.configuration.ConfigurationType;
+import havis.device.rf.configuration.InventorySettings;
+import havis.device.rf.exception.ConnectionException;
+import havis.device.rf.exception.ImplementationException;
+import havis.opcua.message.exception.ApplicationException;
+
+/**
+ * Caches the transmit power table, the antenna configurations and the
+ * inventory settings of the RF device. The cache must be invalidated whenever
+ * the configuration of the RF device may have been changed, i.e. before
+ * setting a configuration and if another application requests the RF device.
+ */
+public class RfConfigurationCache {
+
+	private static final Logger log = Logger.getLogger(RfConfigurationCache.class.getName());
+
+	/**
+	 * Thrown if a value is requested without RF device and has not been
+	 * loaded yet
+	 */
+	public static class NotCachedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		NotCachedException(String name) {
+			super(name + " not cached");
+		}
+	}
+
+	/**
+	 * Value of the transmit power table for an index without entry
+	 */
+	public static final short NO_TRANSMIT_POWER = Short.MIN_VALUE;
+
+	/* incremented by each invalidation to discard values loaded meanwhile */
+	private long generation;
+
+	// transmit power index -> transmit power in dBm
+	private short[] transmitPowers;
+	// antennaId (0 for all antennas) -> antenna configurations
+	private final Map<Short, List<AntennaConfiguration>> antennaConfigurations = new HashMap<>();
+	private InventorySettings inventorySettings;
+	// antennaId -> transmit power in mW
+	private Map<Short, Short> powerMap;
+
+	/**
+	 * Discards all cached values
+	 */
+	public synchronized void invalidate() {
+		generation++;
+		transmitPowers = null;
+		antennaConfigurations.clear();
+		inventorySettings = null;
+		powerMap = null;
+	}
+
+	/**
+	 * @param rfDevice
+	 *            the RF device to load the regulatory capabilities from,
+	 *            <code>null</code> to only return a cached value
+	 * @return The transmit powers in dBm indexed by the transmit power index,
+	 *         {@link #NO_TRANSMIT_POWER} for indices without entry
+	 */
+	public short[] getTransmitPowers(RFDevice rfDevice)
+			throws ImplementationException, ConnectionException, ApplicationException {
+		long generation;
+		synchronized (this) {
+			if (transmitPowers != null)
+				return transmitPowers;
+			generation = this.generation;
+		}
+		if (rfDevice == null)
+			throw new NotCachedException("Transmit power table");
+
+		List<Capabilities> caps = rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+		if (caps == null || caps.isEmpty()) {
+			log.log(Level.SEVERE, "Cannot get regulatory capabilities: Missing result");
+			throw ApplicationException.invalidState();
+		}
+		RegulatoryCapabilities regulatoryCaps = (RegulatoryCapabilities) caps.get(0);
+		if (log.isLoggable(Level.INFO)) {
+			log.log(Level.INFO, "Received " + CapabilityType.REGULATORY_CAPABILITIES);
+		}
+
+		List<TransmitPowerTableEntry> entries = regulatoryCaps.getTransmitPowerTable().getEntryList();
+		int size = 0;
+		for (TransmitPowerTableEntry entry : entries)
+			size = Math.max(size, entry.getIndex() + 1);
+		short[] table = new short[size];
+		Arrays.fill(table, NO_TRANSMIT_POWER);
+		for (TransmitPowerTableEntry entry : entries)
+			if (entry.getIndex() >= 0)
+				table[entry.getIndex()] = entry.getTransmitPower();
+
+		synchronized (this) {
+			if (generation == this.generation)
+				transmitPowers = table;
+		}
+		return table;
+	}
+
+	/**
+	 * @param rfDevice
+	 *            the RF device to load the configurations from,
+	 *            <code>null</code> to only return cached values
+	 * @param antennaId
+	 *            the antenna, 0 for all antennas
+	 * @return The unmodifiable list of antenna configurations
+	 */
+	public List<AntennaConfiguration> getAntennaConfigurations(RFDevice rfDevice, short antennaId)
+			throws ImplementationException, ConnectionException {
+		long generation;
+		synchronized (this) {
+			List<AntennaConfiguration> configs = antennaConfigurations.get(antennaId);
+			if (configs != null)
+				return configs;
+			generation = this.generation;
+		}
+		if (rfDevice == null)
+			throw new NotCachedException("Antenna configurations");
+
+		List<AntennaConfiguration> configs = new ArrayList<>();
+		List<Configuration> confs = rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, antennaId,
+				(short) 0, (short) 0);
+		if (log.isLoggable(Level.INFO)) {
+			log.log(Level.INFO, "Received " + ConfigurationType.ANTENNA_CONFIGURATION);
+		}
+		if (confs != null)
+			for (Configuration conf : confs)
+				configs.add((AntennaConfiguration) conf);
+		configs = Collections.unmodifiableList(configs);
+
+		synchronized (this) {
+			if (generation == this.generation)
+				antennaConfigurations.put(antennaId, configs);
+		}
+		return configs;
+	}
+
+	/**
+	 * @param rfDevice
+	 *            the RF device to load the settings from, <code>null</code>
+	 *            to only return cached settings
+	 * @return The inventory settings, the instance must not be modified
+	 *         without invalidating the cache
+	 */
+	public InventorySettings getInventorySettings(RFDevice rfDevice)
+			throws ConnectionException, ImplementationException, ApplicationException {
+		long generation;
+		synchronized (this) {
+			if (inventorySettings != null)
+				return inventorySettings;
+			generation = this.generation;
+		}
+		if (rfDevice == null)
+			throw new NotCachedException("Inventory settings");
+
+		List<Configuration> confs = rfDevice.getConfiguration(ConfigurationType.INVENTORY_SETTINGS,
+				(short) 0 /* antennaId */, (short) 0, (short) 0);
+		if (confs == null || confs.isEmpty()) {
+			log.log(Level.SEVERE, "Cannot get inventory settings: Missing result");
+			throw ApplicationException.invalidState();
+		}
+		InventorySettings settings = (InventorySettings) confs.get(0);
+		if (log.isLoggable(Level.INFO)) {
+			log.log(Level.INFO, "Received " + ConfigurationType.INVENTORY_SETTINGS);
+		}
+
+		synchronized (this) {
+			if (generation == this.generation)
+				inventorySettings = settings;
+		}
+		return settings;
+	}
+
+	/**
+	 * @param rfDevice
+	 *            the RF device to load the configuration from,
+	 *            <code>null</code> to only return cached values
+	 * @return The unmodifiable map of the transmit power in mW per antenna
+	 * @throws NotCachedException
+	 *             if no RF device is given and the values are not cached
+	 */
+	public Map<Short, Short> getPowerMap(RFDevice rfDevice)
+			throws ImplementationException, ConnectionException, ApplicationException {
+		long generation;
+		synchronized (this) {
+			if (powerMap != null)
+				return powerMap;
+			generation = this.generation;
+		}
+
+		short[] transmitPowers = getTransmitPowers(rfDevice);
+		Map<Short, Short> map = new HashMap<>();
+		for (AntennaConfiguration config : getAntennaConfigurations(rfDevice, (short) 0)) {
+			Short index = config.getTransmitPower();
+			if (index != null && index >= 0 && index < transmitPowers.length
+					&& transmitPowers[index] != NO_TRANSMIT_POWER)
+				map.put(config.getId(), (short) TxLevel.fromDBm(transmitPowers[index]).mW);
+		}
+		map = Collections.unmodifiableMap(map);
+
+		synchronized (this) {
+			if (generation == this.generation)
+				powerMap = map;
+		}
+		return map;
+	}
+}
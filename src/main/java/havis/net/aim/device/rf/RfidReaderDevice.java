@@ -5,6 +5,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import havis.device.rf.tag.operation.TagOperation;
 import havis.net.aim.opcua.Constants.EventType;
 import havis.net.aim.opcua.Constants.Param;
 import havis.net.aim.opcua.ParamChangedListener;
@@ -87,6 +88,15 @@ public abstract class RfidReaderDevice extends RfidReaderDeviceType {
 	 */
 	public abstract void setMinRssi(int minRssi) throws ApplicationException;
 
+	/**
+	 * Gets the states and directions of all IO ports with a single request to
+	 * the IO device.
+	 * 
+	 * @return The values of the IOData parameters
+	 * @throws ApplicationException
+	 */
+	public abstract Map<Param, Integer> getIOData() throws ApplicationException;
+
 	public abstract HaIOState getHs1() throws ApplicationException;
 
 	public abstract void setHs1(HaIOState state) throws ApplicationException;
@@ -238,6 +248,36 @@ public abstract class RfidReaderDevice extends RfidReaderDeviceType {
 	public abstract ReadResultPair readTag(ScanData identifier, CodeTypeEnumeration codeType, int region, long offset,
 			long length, byte[] password);
 
+	/**
+	 * This method reads the same memory area of several RFID tags. The tags
+	 * are accessed one after another without releasing the device in between.
+	 * 
+	 * @param identifiers
+	 *            AutoID Identifiers of the tags, see
+	 *            {@link #readTag(ScanData, CodeTypeEnumeration, int, long, long, byte[])}
+	 * 
+	 * @param codeType
+	 *            Defines the format of the ScanData in the Identifiers as
+	 *            string.
+	 * 
+	 * @param region
+	 *            Region of the memory area to be accessed.
+	 * 
+	 * @param offset
+	 *            Start address of the memory area [byte counting]
+	 * 
+	 * @param length
+	 *            Length of the memory area [byte counting]
+	 * 
+	 * @param password
+	 *            Password for the read operations (if required)
+	 * 
+	 * @return Returns the requested tag data and the status of the read
+	 *         operation for each identifier.
+	 */
+	public abstract List<ReadResultPair> readTags(List<ScanData> identifiers, CodeTypeEnumeration codeType,
+			int region, long offset, long length, byte[] password);
+
 	/**
 	 * This method writes data to a RFID tag.
 	 * 
@@ -277,6 +317,35 @@ public abstract class RfidReaderDevice extends RfidReaderDeviceType {
 	public abstract AutoIdOperationStatusEnumeration writeTag(ScanData identifier, CodeTypeEnumeration codeType,
 			int region, long offset, byte[] data, byte[] password);
 
+	/**
+	 * This method writes data to several RFID tags. The tags are accessed one
+	 * after another without releasing the device in between.
+	 * 
+	 * @param identifiers
+	 *            AutoID Identifiers of the tags, see
+	 *            {@link #writeTag(ScanData, CodeTypeEnumeration, int, long, byte[], byte[])}
+	 * 
+	 * @param codeType
+	 *            Defines the format of the ScanData in the Identifiers as
+	 *            string.
+	 * 
+	 * @param region
+	 *            Region of the memory area to be accessed.
+	 * 
+	 * @param offset
+	 *            Start address of the memory area [byte counting]
+	 * 
+	 * @param data
+	 *            Data to be written for each identifier.
+	 * 
+	 * @param password
+	 *            Password for the write operations (if required).
+	 * 
+	 * @return Returns the status of the write operation for each identifier.
+	 */
+	public abstract List<AutoIdOperationStatusEnumeration> writeTags(List<ScanData> identifiers,
+			CodeTypeEnumeration codeType, int region, long offset, List<byte[]> data, byte[] password);
+
 	/**
 	 * This method is used to protect specific areas of the transponder memory
 	 * against read and/or write access. If a user wants to access such an area,
@@ -367,6 +436,38 @@ public abstract class RfidReaderDevice extends RfidReaderDeviceType {
 	public abstract AutoIdOperationStatusEnumeration killTag(ScanData identifier, CodeTypeEnumeration codeType,
 			byte[] killPassword);
 
+	/**
+	 * This method executes several operations on a RFID tag in the given
+	 * order while holding the connection, e.g. writing the EPC, setting the
+	 * access password and locking the tag. The execution is aborted at the
+	 * first failed operation: each write, lock and kill operation is only
+	 * executed if all previous operations have succeeded, consecutive read
+	 * operations are executed together. If the EPC is written, the following
+	 * operations are executed on the tag with the new EPC. This method is not
+	 * provided as method of the address space.
+	 * 
+	 * @param identifier
+	 *            AutoID Identifier of the tag, see
+	 *            {@link #writeTag(ScanData, CodeTypeEnumeration, int, long, byte[], byte[])}
+	 * 
+	 * @param codeType
+	 *            Defines the format of the ScanData in the Identifier as
+	 *            string.
+	 * 
+	 * @param operations
+	 *            The read, write, lock and kill operations with offsets and
+	 *            lengths in words. The data to write must consist of whole
+	 *            words.
+	 * 
+	 * @return Returns the status and the read data (for read operations) of
+	 *         each executed operation. The operations following a failed one
+	 *         are missing except for read operations executed together with
+	 *         the failed one. If an operation is invalid, only its status is
+	 *         returned and no operation is executed.
+	 */
+	public abstract List<ReadResultPair> executeTagOperations(ScanData identifier, CodeTypeEnumeration codeType,
+			List<TagOperation> operations);
+
 	public void setAntennaNames(List<AntennaNameIdPair> list) {
 		super.getAntennaNames().clear();
 		super.getAntennaNames().addAll(list);
@@ -421,6 +522,13 @@ public abstract class RfidReaderDevice extends RfidReaderDeviceType {
 		notifyParamChange(Param.LAST_SCAN_DATA, lastScanData);
 	}
 
+	/**
+	 * Sets the last scan data without notifying the listeners
+	 */
+	protected void updateLastScanData(ScanData lastScanData) {
+		super.setLastScanData(lastScanData);
+	}
+
 	@Override
 	public void setManufacturer(String manufacturer) {
 		super.setManufacturer(manufacturer);
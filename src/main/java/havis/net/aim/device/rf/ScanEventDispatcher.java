@@ -0,0 +1,344 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import havis.net.aim.opcua.Constants.EventType;
+import havis.net.aim.opcua.Environment;
+import havis.net.aim.opcua.OverflowPolicy;
+import havis.net.aim.opcua.RfidDeviceEventListener;
+import havis.net.aim.xsd.RfidScanResult;
+
+/**
+ * Decouples the inventory from the event listeners. Events are put to a
+ * bounded ring buffer by the inventory (single producer) and are delivered to
+ * the listener by a dispatcher task (single consumer) running on the
+ * {@link InventoryExecutor}. If the
+ * buffer is full the {@link OverflowPolicy} applies.
+ * <p>
+ * {@link #scanAsyncFinished(Object)} delivers all remaining events, stops the
+ * dispatcher task and notifies the listener afterwards.
+ * </p>
+ */
+public class ScanEventDispatcher implements RfidDeviceEventListener {
+
+	private static final Logger log = Logger.getLogger(ScanEventDispatcher.class.getName());
+
+	/* time in ns the producer waits for free space in the buffer */
+	private static final long PRODUCER_WAIT = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private static class Event {
+		final Object source;
+		final EventType type;
+		final Date timeStamp;
+		Map<String, Object> eventArgs;
+		/* set by the producer if the event has been put to the buffer */
+		boolean queued;
+		/* set by the producer if the scan result has been replaced by a copy */
+		boolean copied;
+
+		Event(Object source, EventType type, Date timeStamp, Map<String, Object> eventArgs) {
+			this.source = source;
+			this.type = type;
+			this.timeStamp = timeStamp;
+			this.eventArgs = eventArgs;
+		}
+
+		RfidScanResult getScanResult() {
+			Object result = eventArgs == null ? null
+					: eventArgs.get(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT);
+			return result instanceof RfidScanResult ? (RfidScanResult) result : null;
+		}
+	}
+
+	private final RfidDeviceEventListener listener;
+	private final OverflowPolicy policy;
+
+	private final AtomicReferenceArray<Event> buffer;
+	private final int mask;
+	/* next position to take, advanced by the consumer and by dropping */
+	private final AtomicLong head = new AtomicLong();
+	/* next position to put, advanced by the producer only */
+	private final AtomicLong tail = new AtomicLong();
+
+	/*
+	 * events waiting for space in the buffer (coalesce policy only), bounded
+	 * by the size of the buffer
+	 */
+	private final ArrayDeque<Event> pending = new ArrayDeque<>();
+	private final EpcMap<Event> pendingByEpc = new EpcMap<>();
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/* thread running the dispatcher task, set when the task has started */
+	private volatile Thread thread;
+	/* counted down when the dispatcher task has finished */
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private volatile boolean waiting;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a dispatcher with the capacity and overflow policy of the
+	 * environment
+	 *
+	 * @param listener
+	 *            the listener to deliver the events to
+	 */
+	public ScanEventDispatcher(RfidDeviceEventListener listener) {
+		this(listener, Environment.EVENT_QUEUE_CAPACITY, Environment.EVENT_QUEUE_OVERFLOW);
+	}
+
+	/**
+	 * @param listener
+	 *            the listener to deliver the events to
+	 * @param capacity
+	 *            the min. number of events in the buffer, rounded up to a power
+	 *            of two
+	 * @param policy
+	 *            the policy for a full buffer
+	 */
+	public ScanEventDispatcher(RfidDeviceEventListener listener, int capacity, OverflowPolicy policy) {
+		this.listener = listener;
+		this.policy = policy;
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.buffer = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Starts the dispatcher task on the {@link InventoryExecutor}
+	 */
+	public void start() {
+		InventoryExecutor.get().execute(new Runnable() {
+			@Override
+			public void run() {
+				thread = Thread.currentThread();
+				try {
+					dispatch();
+				} finally {
+					thread = null;
+					finished.countDown();
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return The number of events removed from a full buffer
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return The number of events merged into a waiting event of the same EPC
+	 */
+	public long getCoalescedCount() {
+		return coalesced.get();
+	}
+
+	/**
+	 * Puts an event to the buffer, must only be called by one thread at a time
+	 */
+	@Override
+	public void rfidEventOccured(Object source, EventType event, Date timeStamp, Map<String, Object> eventArgs) {
+		Event e = new Event(source, event, timeStamp, eventArgs);
+		if (closed) {
+			log.log(Level.FINE, "Event dispatcher closed, dropping event");
+			dropped.incrementAndGet();
+			return;
+		}
+		if (putPending() && put(e))
+			return;
+
+		switch (policy) {
+		case DROP_OLDEST:
+			while (!put(e)) {
+				if (take() != null)
+					dropped.incrementAndGet();
+			}
+			break;
+		case COALESCE:
+			coalesce(e);
+			break;
+		case BLOCK:
+			while (!put(e) && isRunning())
+				LockSupport.parkNanos(this, PRODUCER_WAIT);
+			break;
+		}
+	}
+
+	/**
+	 * Delivers the remaining events, stops the dispatcher task and notifies
+	 * the listener
+	 */
+	@Override
+	public void scanAsyncFinished(Object source) {
+		while (!putPending() && isRunning())
+			LockSupport.parkNanos(this, PRODUCER_WAIT);
+		closed = true;
+		wakeUp();
+		boolean interrupted = false;
+		while (isRunning()) {
+			try {
+				finished.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		if ((dropped.get() > 0 || coalesced.get() > 0) && log.isLoggable(Level.INFO))
+			log.log(Level.INFO, "Event buffer overflow: {0} events dropped, {1} events coalesced",
+					new Object[] { dropped.get(), coalesced.get() });
+
+		listener.scanAsyncFinished(source);
+	}
+
+	private void coalesce(Event e) {
+		RfidScanResult result = e.getScanResult();
+		byte[] epc = null;
+		int hash = 0;
+		if (result != null && result.getScanData() != null && result.getScanData().getEpc() != null) {
+			epc = result.getScanData().getEpc().getUid();
+			hash = EpcMap.hash(epc);
+			Event existing = pendingByEpc.get(epc, hash);
+			if (existing != null && !existing.queued) {
+				RfidScanResult target = existing.copied ? existing.getScanResult() : copy(existing);
+				if (target instanceof BufferedRfidScanResult && result instanceof BufferedRfidScanResult)
+					((BufferedRfidScanResult) target).addSightings((BufferedRfidScanResult) result);
+				else
+					target.getSightings().addAll(result.getSightings());
+				coalesced.incrementAndGet();
+				return;
+			}
+		}
+		/* no more events than fit into the buffer are kept */
+		if (pending.size() > mask) {
+			log.log(Level.FINE, "Too many events waiting, dropping event");
+			dropped.incrementAndGet();
+			return;
+		}
+		pending.add(e);
+		if (epc != null)
+			pendingByEpc.put(epc, hash, e);
+	}
+
+	/**
+	 * Replaces the scan result of an event by a copy, the original result may
+	 * still be referenced elsewhere and must not be changed by merging
+	 *
+	 * @return The copy
+	 */
+	private static RfidScanResult copy(Event e) {
+		RfidScanResult result = e.getScanResult();
+		RfidScanResult copy;
+		if (result instanceof BufferedRfidScanResult && ((BufferedRfidScanResult) result).isBuffered())
+			copy = new BufferedRfidScanResult(((BufferedRfidScanResult) result).getSightingBuffer().copy());
+		else {
+			copy = new RfidScanResult();
+			copy.getSightings().addAll(result.getSightings());
+		}
+		copy.setCodeType(result.getCodeType());
+		copy.setScanData(result.getScanData());
+		copy.setTimeStamp(result.getTimeStamp());
+		copy.setReadData(result.getReadData());
+
+		Map<String, Object> eventArgs = new HashMap<>(e.eventArgs);
+		eventArgs.put(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT, copy);
+		e.eventArgs = eventArgs;
+		e.copied = true;
+		return copy;
+	}
+
+	/**
+	 * Moves the waiting events to the buffer
+	 *
+	 * @return true if no events are waiting anymore
+	 */
+	private boolean putPending() {
+		Event e;
+		while ((e = pending.peek()) != null) {
+			if (!put(e))
+				return false;
+			e.queued = true;
+			pending.poll();
+		}
+		pendingByEpc.clear();
+		return true;
+	}
+
+	private boolean put(Event e) {
+		long t = tail.get();
+		if (t - head.get() > mask)
+			return false;
+		buffer.set((int) t & mask, e);
+		tail.set(t + 1);
+		if (waiting)
+			wakeUp();
+		return true;
+	}
+
+	private boolean isRunning() {
+		return finished.getCount() > 0;
+	}
+
+	private void wakeUp() {
+		Thread thread = this.thread;
+		if (thread != null)
+			LockSupport.unpark(thread);
+	}
+
+	private Event take() {
+		while (true) {
+			long h = head.get();
+			if (h >= tail.get())
+				return null;
+			int i = (int) h & mask;
+			Event e = buffer.get(i);
+			/* the producer may drop the same event concurrently */
+			if (head.compareAndSet(h, h + 1)) {
+				buffer.compareAndSet(i, e, null);
+				return e;
+			}
+		}
+	}
+
+	private void dispatch() {
+		while (true) {
+			Event e = take();
+			if (e == null) {
+				if (closed && (e = take()) == null)
+					return;
+				if (e == null) {
+					waiting = true;
+					if (head.get() >= tail.get() && !closed)
+						LockSupport.park(this);
+					waiting = false;
+					/* the executor is shut down */
+					if (Thread.currentThread().isInterrupted()) {
+						log.log(Level.FINE, "Event dispatcher interrupted, dropping remaining events");
+						return;
+					}
+					continue;
+				}
+			}
+			try {
+				listener.rfidEventOccured(e.source, e.type, e.timeStamp, e.eventArgs);
+			} catch (RuntimeException ex) {
+				log.log(Level.SEVERE, "Failed to deliver scan event", ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package havis.net.aim.device.rf;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor for time based tasks like the periodic sending of
+ * scan events. The executor uses a single daemon thread and is created on
+ * first use.
+ */
+public class Scheduler {
+
+	private static ScheduledThreadPoolExecutor executor;
+
+	private Scheduler() {
+	}
+
+	/**
+	 * @return The scheduled executor
+	 */
+	public static synchronized ScheduledExecutorService get() {
+		if (executor == null) {
+			executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, Scheduler.class.getSimpleName() + "-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			executor.setRemoveOnCancelPolicy(true);
+		}
+		return executor;
+	}
+
+	/**
+	 * Stops the executor. Pending tasks are cancelled, a new executor is
+	 * created on the next call of {@link #get()}.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
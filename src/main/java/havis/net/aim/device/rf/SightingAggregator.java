@@ -0,0 +1,102 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import havis.net.aim.xsd.RfidScanResult;
+import havis.net.aim.xsd.RfidSighting;
+import havis.net.aim.xsd.SightingAggregation;
+
+/**
+ * Collapses the sightings of a scan result according to a
+ * {@link SightingAggregation} mode.
+ */
+public class SightingAggregator {
+
+	private static class Aggregate {
+		int antennaId;
+		int count;
+		long strengthSum;
+		int minStrength = Integer.MAX_VALUE;
+		int maxStrength = Integer.MIN_VALUE;
+		long firstTimestamp = Long.MAX_VALUE;
+		long lastTimestamp = Long.MIN_VALUE;
+		int currentPowerLevel;
+
+		Aggregate(int antennaId) {
+			this.antennaId = antennaId;
+		}
+
+		void add(int strength, long timestamp, int powerLevel) {
+			count++;
+			strengthSum += strength;
+			minStrength = Math.min(minStrength, strength);
+			maxStrength = Math.max(maxStrength, strength);
+			firstTimestamp = Math.min(firstTimestamp, timestamp);
+			if (timestamp >= lastTimestamp) {
+				lastTimestamp = timestamp;
+				currentPowerLevel = powerLevel;
+			}
+		}
+
+		RfidSighting toSighting() {
+			RfidSighting rs = new RfidSighting();
+			rs.setAntennaId(antennaId);
+			rs.setStrength((int) Math.round((double) strengthSum / count));
+			rs.setTimestamp(lastTimestamp);
+			rs.setCurrentPowerLevel(currentPowerLevel);
+			rs.setCount(count);
+			rs.setFirstTimestamp(firstTimestamp);
+			rs.setMinStrength(minStrength);
+			rs.setMaxStrength(maxStrength);
+			return rs;
+		}
+	}
+
+	private SightingAggregator() {
+	}
+
+	/**
+	 * Aggregates the sightings of a scan result
+	 *
+	 * @param result
+	 *            the scan result
+	 * @param mode
+	 *            the aggregation mode
+	 * @return The given result if the mode is {@link SightingAggregation#NONE},
+	 *         a new result with one sighting per antenna otherwise
+	 */
+	public static RfidScanResult aggregate(RfidScanResult result, SightingAggregation mode) {
+		if (mode == null || mode == SightingAggregation.NONE)
+			return result;
+
+		List<Aggregate> aggregates = new ArrayList<>(4);
+		if (result instanceof BufferedRfidScanResult && ((BufferedRfidScanResult) result).isBuffered()) {
+			SightingBuffer buffer = ((BufferedRfidScanResult) result).getSightingBuffer();
+			for (int i = 0; i < buffer.size(); i++)
+				get(aggregates, buffer.getAntennaId(i)).add(buffer.getStrength(i), buffer.getTimestamp(i),
+						buffer.getCurrentPowerLevel(i));
+		} else {
+			for (RfidSighting rs : result.getSightings())
+				get(aggregates, rs.getAntennaId()).add(rs.getStrength(), rs.getTimestamp(), rs.getCurrentPowerLevel());
+		}
+
+		RfidScanResult aggregated = new RfidScanResult();
+		aggregated.setCodeType(result.getCodeType());
+		aggregated.setScanData(result.getScanData());
+		aggregated.setTimeStamp(result.getTimeStamp());
+		aggregated.setReadData(result.getReadData());
+		for (Aggregate aggregate : aggregates)
+			aggregated.getSightings().add(aggregate.toSighting());
+		return aggregated;
+	}
+
+	private static Aggregate get(List<Aggregate> aggregates, int antennaId) {
+		for (Aggregate aggregate : aggregates)
+			if (aggregate.antennaId == antennaId)
+				return aggregate;
+		Aggregate aggregate = new Aggregate(antennaId);
+		aggregates.add(aggregate);
+		return aggregate;
+	}
+}
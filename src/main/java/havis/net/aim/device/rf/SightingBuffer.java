@@ -0,0 +1,115 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import havis.net.aim.xsd.RfidSighting;
+
+/**
+ * Columnar store for the sightings of a single tag. The antenna, RSSI,
+ * timestamp and power level of each read are kept in parallel primitive
+ * arrays, {@link RfidSighting} instances are only created by
+ * {@link #toSightings()}.
+ */
+public class SightingBuffer {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private short[] antennas;
+	private int[] rssis;
+	private long[] timestamps;
+	private short[] powers;
+	private int size;
+
+	public SightingBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public SightingBuffer(int capacity) {
+		antennas = new short[capacity];
+		rssis = new int[capacity];
+		timestamps = new long[capacity];
+		powers = new short[capacity];
+	}
+
+	public void add(short antenna, int rssi, long timestamp, short power) {
+		if (size == antennas.length)
+			grow(size + 1);
+		antennas[size] = antenna;
+		rssis[size] = rssi;
+		timestamps[size] = timestamp;
+		powers[size] = power;
+		size++;
+	}
+
+	public void addAll(SightingBuffer buffer) {
+		if (size + buffer.size > antennas.length)
+			grow(size + buffer.size);
+		System.arraycopy(buffer.antennas, 0, antennas, size, buffer.size);
+		System.arraycopy(buffer.rssis, 0, rssis, size, buffer.size);
+		System.arraycopy(buffer.timestamps, 0, timestamps, size, buffer.size);
+		System.arraycopy(buffer.powers, 0, powers, size, buffer.size);
+		size += buffer.size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public short getAntennaId(int i) {
+		return antennas[i];
+	}
+
+	public int getStrength(int i) {
+		return rssis[i];
+	}
+
+	public long getTimestamp(int i) {
+		return timestamps[i];
+	}
+
+	public short getCurrentPowerLevel(int i) {
+		return powers[i];
+	}
+
+	/**
+	 * Resets the buffer keeping the allocated capacity
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @return A copy of the buffer trimmed to its size
+	 */
+	public SightingBuffer copy() {
+		SightingBuffer copy = new SightingBuffer(size);
+		copy.addAll(this);
+		return copy;
+	}
+
+	/**
+	 * @return A new list of sightings for the content of the buffer
+	 */
+	public List<RfidSighting> toSightings() {
+		List<RfidSighting> sightings = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			RfidSighting rs = new RfidSighting();
+			rs.setAntennaId(antennas[i]);
+			rs.setStrength(rssis[i]);
+			rs.setTimestamp(timestamps[i]);
+			rs.setCurrentPowerLevel(powers[i]);
+			sightings.add(rs);
+		}
+		return sightings;
+	}
+
+	private void grow(int minCapacity) {
+		int capacity = Math.max(antennas.length * 2, minCapacity);
+		antennas = Arrays.copyOf(antennas, capacity);
+		rssis = Arrays.copyOf(rssis, capacity);
+		timestamps = Arrays.copyOf(timestamps, capacity);
+		powers = Arrays.copyOf(powers, capacity);
+	}
+}
@@ -0,0 +1,188 @@
+package havis.net.aim.device.rf;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the data read from tags by EPC, memory bank, offset and length. The
+ * least recently used entry is removed if the capacity is exceeded, entries
+ * expire after a time to live. The entries of a tag must be invalidated
+ * whenever the tag may have been changed, i.e. after writing, locking or
+ * killing the tag.
+ */
+public class TagReadCache {
+
+	private static class Key {
+		private final byte[] epc;
+		private final int bank;
+		private final long offset;
+		private final long length;
+		private final int hash;
+
+		Key(byte[] epc, int bank, long offset, long length) {
+			this.epc = epc;
+			this.bank = bank;
+			this.offset = offset;
+			this.length = length;
+			int h = Arrays.hashCode(epc);
+			h = 31 * h + bank;
+			h = 31 * h + (int) (offset ^ offset >>> 32);
+			h = 31 * h + (int) (length ^ length >>> 32);
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key key = (Key) obj;
+			return bank == key.bank && offset == key.offset && length == key.length && Arrays.equals(epc, key.epc);
+		}
+	}
+
+	private static class Entry {
+		final byte[] data;
+		final long time;
+
+		Entry(byte[] data, long time) {
+			this.data = data;
+			this.time = time;
+		}
+	}
+
+	private final int capacity;
+	private final long timeToLive;
+	// entries in access order
+	private final Map<Key, Entry> entries;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * @param capacity
+	 *            the max. number of entries, 0 to disable the cache
+	 * @param timeToLive
+	 *            the time in ms after which an entry expires, 0 to keep the
+	 *            entries until they are invalidated or removed
+	 */
+	public TagReadCache(final int capacity, long timeToLive) {
+		this.capacity = capacity;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * @return Whether data is cached at all
+	 */
+	public boolean isEnabled() {
+		return capacity > 0;
+	}
+
+	/**
+	 * @param epc
+	 *            the EPC of the tag
+	 * @param bank
+	 *            the memory bank
+	 * @param offset
+	 *            the offset in words
+	 * @param length
+	 *            the length in words
+	 * @return A copy of the cached data or <code>null</code> if the data is
+	 *         not cached or has expired
+	 */
+	public synchronized byte[] get(byte[] epc, int bank, long offset, long length) {
+		if (capacity <= 0)
+			return null;
+		Key key = new Key(epc, bank, offset, length);
+		Entry entry = entries.get(key);
+		if (entry != null && isExpired(entry, System.nanoTime())) {
+			entries.remove(key);
+			entry = null;
+		}
+		if (entry == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return entry.data.clone();
+	}
+
+	/**
+	 * @param epc
+	 *            the EPC of the tag
+	 * @param bank
+	 *            the memory bank
+	 * @param offset
+	 *            the offset in words
+	 * @param length
+	 *            the length in words
+	 * @param data
+	 *            the read data, must not be modified afterwards
+	 */
+	public synchronized void put(byte[] epc, int bank, long offset, long length, byte[] data) {
+		if (capacity <= 0)
+			return;
+		entries.put(new Key(epc.clone(), bank, offset, length), new Entry(data, System.nanoTime()));
+	}
+
+	/**
+	 * Discards the entries of a tag
+	 *
+	 * @param epc
+	 *            the EPC of the tag
+	 */
+	public synchronized void invalidate(byte[] epc) {
+		for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext();) {
+			if (Arrays.equals(epc, it.next().epc))
+				it.remove();
+		}
+	}
+
+	/**
+	 * Discards all entries
+	 */
+	public synchronized void invalidate() {
+		entries.clear();
+	}
+
+	/**
+	 * @return The number of cached entries including expired ones
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of reads served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return The number of reads not found in the cache
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private boolean isExpired(Entry entry, long now) {
+		return timeToLive > 0 && now - entry.time >= timeToLive;
+	}
+}
@@ -1,5 +1,10 @@
 package havis.net.aim.opcua;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -25,9 +30,18 @@ import havis.opcua.message.exception.ParameterException;
  */
 public class AimDataProvider implements DataProvider {
 	private static final Logger log = Logger.getLogger(AimDataProvider.class.getName());
+	private static final Set<Constants.Param> IO_DATA_PARAMS = EnumSet.of(Constants.Param.HS1,
+			Constants.Param.HS1_DIRECTION, Constants.Param.HS2, Constants.Param.HS2_DIRECTION, Constants.Param.HS3,
+			Constants.Param.HS3_DIRECTION, Constants.Param.HS4, Constants.Param.HS4_DIRECTION,
+			Constants.Param.SWS1_SWD1, Constants.Param.SWS1_SWD1_DIRECTION, Constants.Param.SWS2_SWD2,
+			Constants.Param.SWS2_SWD2_DIRECTION, Constants.Param.LS1, Constants.Param.LS1_DIRECTION,
+			Constants.Param.LS2, Constants.Param.LS2_DIRECTION);
 	private RfidReaderDevice rfidReaderDevice;
 	private MessageHandler messageHandler;
 	private SubscriptionManager subscriptionManager;
+	// snapshot of the IOData parameters
+	private Map<Constants.Param, Integer> ioData;
+	private long ioDataTime;
 
 	public AimDataProvider(RfidReaderDevice rfidReaderDevice, MessageHandler messageHandler) {
 		this.rfidReaderDevice = rfidReaderDevice;
@@ -35,6 +49,14 @@ public class AimDataProvider implements DataProvider {
 		this.subscriptionManager = new SubscriptionManager(messageHandler);
 		this.rfidReaderDevice.addParamChangedListener(subscriptionManager);
 		this.rfidReaderDevice.addRfidEventListener(subscriptionManager);
+		this.rfidReaderDevice.addParamChangedListener(new ParamChangedListener() {
+			@Override
+			public void paramChanged(Object source, Constants.Param param, Object newValue) {
+				// the changed value (e.g. an input edge) must not be read from an older snapshot
+				if (IO_DATA_PARAMS.contains(param))
+					invalidateIOData();
+			}
+		});
 	}
 
 	public MessageHandler getMessageHandler() {
@@ -49,9 +71,79 @@ public class AimDataProvider implements DataProvider {
 		return subscriptionManager;
 	}
 
+	/**
+	 * Returns the snapshot of the IOData parameters. A new snapshot is
+	 * requested from the device if the current one is older than
+	 * {@link Environment#IO_DATA_INTERVAL} or has been discarded by a change
+	 * of an IOData parameter.
+	 */
+	private synchronized Map<Constants.Param, Integer> getIOData() throws ApplicationException {
+		long now = System.nanoTime();
+		if (ioData == null || now - ioDataTime > TimeUnit.MILLISECONDS.toNanos(Environment.IO_DATA_INTERVAL)) {
+			ioData = rfidReaderDevice.getIOData();
+			ioDataTime = now;
+		}
+		return ioData;
+	}
+
+	private synchronized void invalidateIOData() {
+		ioData = null;
+	}
+
+	/**
+	 * Reads an IOData parameter from the snapshot. If the snapshot cannot be
+	 * requested or misses the parameter, the parameter is read individually
+	 * so that a failed port only fails its own variables.
+	 */
+	private int readIOData(Constants.Param param) throws ApplicationException {
+		try {
+			Integer value = getIOData().get(param);
+			if (value != null)
+				return value;
+		} catch (ApplicationException e) {
+			log.log(Level.FINE, "Failed to read IOData, reading parameter " + param + " individually", e);
+		}
+		switch (param) {
+		case HS1:
+			return rfidReaderDevice.getHs1().value();
+		case HS1_DIRECTION:
+			return rfidReaderDevice.getHs1Direction().value();
+		case HS2:
+			return rfidReaderDevice.getHs2().value();
+		case HS2_DIRECTION:
+			return rfidReaderDevice.getHs2Direction().value();
+		case HS3:
+			return rfidReaderDevice.getHs3().value();
+		case HS3_DIRECTION:
+			return rfidReaderDevice.getHs3Direction().value();
+		case HS4:
+			return rfidReaderDevice.getHs4().value();
+		case HS4_DIRECTION:
+			return rfidReaderDevice.getHs4Direction().value();
+		case SWS1_SWD1:
+			return rfidReaderDevice.getSws1Swd1().value();
+		case SWS1_SWD1_DIRECTION:
+			return rfidReaderDevice.getSws1Swd1Direction().value();
+		case SWS2_SWD2:
+			return rfidReaderDevice.getSws2Swd2().value();
+		case SWS2_SWD2_DIRECTION:
+			return rfidReaderDevice.getSws2Swd2Direction().value();
+		case LS1:
+			return rfidReaderDevice.getLs1().value();
+		case LS1_DIRECTION:
+			return rfidReaderDevice.getLs1Direction().value();
+		case LS2:
+			return rfidReaderDevice.getLs2().value();
+		case LS2_DIRECTION:
+			return rfidReaderDevice.getLs2Direction().value();
+		default:
+			throw new IllegalArgumentException("No IOData parameter: " + param);
+		}
+	}
+
 	@Override
 	public Object[] call(String methodId, String paramId, Object[] args) throws ParameterException {
-		Constants.Method method = Constants.Method.forName(methodId);
+		Constants.Method method = Constants.Method.forNodeId(methodId);
 		if (method == null) {
 			log.log(Level.FINE, "Failed to call method {0}. No such method exists.", method);
 			throw new NoSuchParameterException("The method " + methodId + " does not exist.");
@@ -91,6 +183,23 @@ public class AimDataProvider implements DataProvider {
 						/* password */ Deserializer.unboxByteArray((Byte[]) args[5]));
 				return Serializer.serialize(writeStatus);
 
+			case READ_TAGS:
+				List<ReadResultPair> rrps = this.rfidReaderDevice.readTags(
+						/* identifiers */ Deserializer.deserializeScanDataList(args[0]),
+						CodeTypeEnumeration.valueOf((String) args[1]), /* region */ (int) args[2],
+						/* offset */ (long) args[3], /* length */ (long) args[4],
+						/* password */ Deserializer.unboxByteArray((Byte[]) args[5]));
+				return Serializer.serializeReadResults(rrps);
+
+			case WRITE_TAGS:
+				List<AutoIdOperationStatusEnumeration> writeStatuses = rfidReaderDevice.writeTags(
+						/* identifiers */ Deserializer.deserializeScanDataList(args[0]),
+						CodeTypeEnumeration.valueOf((String) args[1]), /* region */ (int) args[2],
+						/* offset */ (long) args[3],
+						/* data */ Deserializer.unboxByteArrays((Object[]) args[4]),
+						/* password */ Deserializer.unboxByteArray((Byte[]) args[5]));
+				return Serializer.serializeStatuses(writeStatuses);
+
 			case LOCK_TAG:
 				AutoIdOperationStatusEnumeration lockStatus = rfidReaderDevice.lockTag(
 						/* identifier */ Deserializer.deserializeScanData(args[0]),
@@ -144,7 +253,7 @@ public class AimDataProvider implements DataProvider {
 
 	@Override
 	public Object read(String paramName) throws ParameterException {
-		Constants.Param param = Constants.Param.forName(paramName);
+		Constants.Param param = Constants.Param.forNodeId(paramName);
 		if (param == null) {
 			log.log(Level.FINE, "Failed to read parameter {0}. No such parameter exists.",
 					paramName);
@@ -211,37 +320,22 @@ public class AimDataProvider implements DataProvider {
 
 			// IOData
 			case HS1:
-				return rfidReaderDevice.getHs1().value();
 			case HS1_DIRECTION:
-				return rfidReaderDevice.getHs1Direction().value();
 			case HS2:
-				return rfidReaderDevice.getHs2().value();
 			case HS2_DIRECTION:
-				return rfidReaderDevice.getHs2Direction().value();
 			case HS3:
-				return rfidReaderDevice.getHs3().value();
 			case HS3_DIRECTION:
-				return rfidReaderDevice.getHs3Direction().value();
 			case HS4:
-				return rfidReaderDevice.getHs4().value();
 			case HS4_DIRECTION:
-				return rfidReaderDevice.getHs4Direction().value();
 			case SWS1_SWD1:
-				return rfidReaderDevice.getSws1Swd1().value();
 			case SWS1_SWD1_DIRECTION:
-				return rfidReaderDevice.getSws1Swd1Direction().value();
 			case SWS2_SWD2:
-				return rfidReaderDevice.getSws2Swd2().value();
 			case SWS2_SWD2_DIRECTION:
-				return rfidReaderDevice.getSws2Swd2Direction().value();
 			case LS1:
-				return rfidReaderDevice.getLs1().value();
 			case LS1_DIRECTION:
-				return rfidReaderDevice.getLs1Direction().value();
 			case LS2:
-				return rfidReaderDevice.getLs2().value();
 			case LS2_DIRECTION:
-				return rfidReaderDevice.getLs2Direction().value();
+				return readIOData(param);
 
 			default:
 				log.log(Level.FINE,
@@ -259,8 +353,8 @@ public class AimDataProvider implements DataProvider {
 
 	@Override
 	public void subscribe(String name) throws ParameterException {
-		Constants.Param param = Constants.Param.forName(name);
-		Constants.EventType event = Constants.EventType.forName(name);
+		Constants.Param param = Constants.Param.forNodeId(name);
+		Constants.EventType event = Constants.EventType.forNodeId(name);
 
 		if (param == null && event == null) {
 			log.log(Level.FINE,
@@ -288,8 +382,8 @@ public class AimDataProvider implements DataProvider {
 			return;
 		}
 
-		Constants.Param param = Constants.Param.forName(name);
-		Constants.EventType event = Constants.EventType.forName(name);
+		Constants.Param param = Constants.Param.forNodeId(name);
+		Constants.EventType event = Constants.EventType.forNodeId(name);
 
 		if (param == null && event == null) {
 			log.log(Level.FINE,
@@ -311,7 +405,7 @@ public class AimDataProvider implements DataProvider {
 
 	@Override
 	public void write(String paramName, Object arg) throws ParameterException {
-		Constants.Param param = Constants.Param.forName(paramName);
+		Constants.Param param = Constants.Param.forNodeId(paramName);
 
 		if (param == null) {
 			log.log(Level.FINE, "Failed to write parameter {0}. No such parameter exists.",
@@ -431,6 +525,8 @@ public class AimDataProvider implements DataProvider {
 				throw new NoSuchParameterException(
 						"The parameter " + paramName + " does not exist.");
 			}
+			// the written value must not be read from an older snapshot
+			invalidateIOData();
 		} catch (Exception ex) {
 			throw new InvalidParameterException(ex);
 		}
@@ -13,6 +13,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import havis.net.aim.xsd.Configuration;
+import havis.net.aim.xsd.SightingAggregation;
 import havis.net.aim.xsd.TagSet;
 
 public class ConfigurationManager {
@@ -48,6 +49,24 @@ public class ConfigurationManager {
 		}
 	}
 
+	public SightingAggregation getSightingAggregation() {
+		SightingAggregation sightingAggregation = config.getSightingAggregation();
+		return sightingAggregation == null ? SightingAggregation.NONE : sightingAggregation;
+	}
+
+	public synchronized void setSightingAggregation(SightingAggregation sightingAggregation)
+			throws ConfigurationManagerException {
+		SightingAggregation oldSightingAggregation = config.getSightingAggregation();
+
+		try {
+			this.config.setSightingAggregation(sightingAggregation);
+			serialize();
+		} catch (IOException ex) {
+			this.config.setSightingAggregation(oldSightingAggregation);
+			throw new ConfigurationManagerException("Failed to persist configuration.", ex);
+		}
+	}
+
 	public synchronized void reset() {
 		new File(Environment.CONFIG_FILE).delete();
 	}
@@ -65,6 +84,7 @@ public class ConfigurationManager {
 		}
 		Configuration cfg = new Configuration();
 		cfg.setTagSet(TagSet.CURRENT);
+		cfg.setSightingAggregation(SightingAggregation.NONE);
 		return cfg;
 	}
 
@@ -77,8 +97,10 @@ public class ConfigurationManager {
 
 	public synchronized void set(Configuration cfg) throws ConfigurationManagerException {
 
-		if (config.getTagSet() != cfg.getTagSet())
+		if (cfg.getTagSet() != null && config.getTagSet() != cfg.getTagSet())
 			setTagSet(cfg.getTagSet());
+		if (cfg.getSightingAggregation() != null && getSightingAggregation() != cfg.getSightingAggregation())
+			setSightingAggregation(cfg.getSightingAggregation());
 	}
 
 	public synchronized Configuration get() {
@@ -1,10 +1,46 @@
 package havis.net.aim.opcua;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import havis.net.aim.opcua.Environment;
 
 public abstract class Constants {
 
-	public enum Param {
+	/**
+	 * Value with the name of its node
+	 */
+	interface Named {
+		String getNodeName();
+	}
+
+	/**
+	 * @return The values by the names of their nodes, the first value wins for
+	 *         duplicate names
+	 */
+	private static <E extends Named> Map<String, E> index(E[] values) {
+		Map<String, E> names = new HashMap<>();
+		for (E value : values) {
+			if (!names.containsKey(value.getNodeName()))
+				names.put(value.getNodeName(), value);
+		}
+		return Collections.unmodifiableMap(names);
+	}
+
+	/**
+	 * @return The values of a name index by the interned names, to be resolved
+	 *         by reference
+	 */
+	private static <E> Map<String, E> indexByNodeId(Map<String, E> names) {
+		Map<String, E> nodeIds = new IdentityHashMap<>();
+		for (Map.Entry<String, E> entry : names.entrySet())
+			nodeIds.put(entry.getKey().intern(), entry.getValue());
+		return Collections.unmodifiableMap(nodeIds);
+	}
+
+	public enum Param implements Named {
 		ANTENNA_NAMES(Environment.VARIABLE_NAME_ANTENNA_NAMES), //
 		AUTOID_MODEL_VERSION(Environment.VARIABLE_NAME_AUTOID_MODEL_VERSION), //
 		DEVICE_NAME(Environment.VARIABLE_NAME_DEVICE_NAME), //
@@ -50,17 +86,29 @@ public abstract class Constants {
 			this.name = name;
 		}
 
+		@Override
+		public String getNodeName() {
+			return name;
+		}
+
+		private static final Map<String, Param> NAMES = index(values());
+		private static final Map<String, Param> NODE_IDS = indexByNodeId(NAMES);
+
 		public static Param forName(String name) {
-			for (Param value : values()) {
-				if (name.equals(value.name)) {
-					return value;
-				}
-			}
-			return null;
+			return NAMES.get(name);
+		}
+
+		/**
+		 * Resolves a value by reference of the node id, falls back to
+		 * {@link #forName(String)} if the node id is not interned
+		 */
+		public static Param forNodeId(String nodeId) {
+			Param value = NODE_IDS.get(nodeId);
+			return value != null ? value : forName(nodeId);
 		}
 	}
 
-	public enum EventType {
+	public enum EventType implements Named {
 		RFID_SCAN_EVENT(Environment.EVENT_RFID_SCAN_EVENT_TYPE);
 
 		final String name;
@@ -69,22 +117,36 @@ public abstract class Constants {
 			this.name = name;
 		}
 
+		@Override
+		public String getNodeName() {
+			return name;
+		}
+
+		private static final Map<String, EventType> NAMES = index(values());
+		private static final Map<String, EventType> NODE_IDS = indexByNodeId(NAMES);
+
 		public static EventType forName(String name) {
-			for (EventType value : values()) {
-				if (name.equals(value.name)) {
-					return value;
-				}
-			}
-			return null;
+			return NAMES.get(name);
+		}
+
+		/**
+		 * Resolves a value by reference of the node id, falls back to
+		 * {@link #forName(String)} if the node id is not interned
+		 */
+		public static EventType forNodeId(String nodeId) {
+			EventType value = NODE_IDS.get(nodeId);
+			return value != null ? value : forName(nodeId);
 		}
 	}
 
-	public enum Method {
+	public enum Method implements Named {
 		SCAN(Environment.METHOD_NAME_SCAN), //
 		SCAN_START(Environment.METHOD_NAME_SCAN_START), //
 		SCAN_STOP(Environment.METHOD_NAME_SCAN_STOP), //
 		READ_TAG(Environment.METHOD_NAME_READ), //
 		WRITE_TAG(Environment.METHOD_NAME_WRITE), //
+		READ_TAGS(Environment.METHOD_NAME_READ_TAGS), //
+		WRITE_TAGS(Environment.METHOD_NAME_WRITE_TAGS), //
 		LOCK_TAG(Environment.METHOD_NAME_LOCK), //
 		KILL_TAG(Environment.METHOD_NAME_KILL), //
 		SET_TAG_PASSWORD(Environment.METHOD_NAME_SET_PASSWORD);
@@ -95,13 +157,25 @@ public abstract class Constants {
 			this.name = name;
 		}
 
+		@Override
+		public String getNodeName() {
+			return name;
+		}
+
+		private static final Map<String, Method> NAMES = index(values());
+		private static final Map<String, Method> NODE_IDS = indexByNodeId(NAMES);
+
 		public static Method forName(String name) {
-			for (Method value : values()) {
-				if (name.equals(value.name)) {
-					return value;
-				}
-			}
-			return null;
+			return NAMES.get(name);
+		}
+
+		/**
+		 * Resolves a value by reference of the node id, falls back to
+		 * {@link #forName(String)} if the node id is not interned
+		 */
+		public static Method forNodeId(String nodeId) {
+			Method value = NODE_IDS.get(nodeId);
+			return value != null ? value : forName(nodeId);
 		}
 	}
 }
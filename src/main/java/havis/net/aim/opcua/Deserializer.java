@@ -69,6 +69,15 @@ public class Deserializer {
 		return scd;
 	}
 
+	public static List<ScanData> deserializeScanDataList(Object object) {
+		Object[] scanDataMaps = (Object[]) object;
+
+		List<ScanData> ret = new ArrayList<>(scanDataMaps.length);
+		for (Object scanDataMap : scanDataMaps)
+			ret.add(deserializeScanData(scanDataMap));
+		return ret;
+	}
+
 	public static List<AntennaNameIdPair> deserializeAntennaNameList(Object object) {
 
 		@SuppressWarnings("unchecked")
@@ -94,6 +103,13 @@ public class Deserializer {
 		return ret;
 	}
 
+	public static List<byte[]> unboxByteArrays(Object[] byteArrays) {
+		List<byte[]> ret = new ArrayList<>(byteArrays.length);
+		for (Object bytes : byteArrays)
+			ret.add(unboxByteArray((Byte[]) bytes));
+		return ret;
+	}
+
 	public static RfidPasswordTypeEnumeration deserialzePasswordType(int pswType) {
 		if (pswType == RfidPasswordTypeEnumeration.KILL.ordinal())
 			return RfidPasswordTypeEnumeration.KILL;
@@ -2,6 +2,7 @@ package havis.net.aim.opcua;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,12 +32,18 @@ public class Environment {
 	public static final String RFIDSCANRESULT_CODETYPE = properties.getProperty("havis.net.aim.serialize.RfidScanResult.codeType", "CodeType");
 	public static final String RFIDSCANRESULT_SCANDATA = properties.getProperty("havis.net.aim.serialize.RfidScanResult.scanData", "ScanData");
 	public static final String RFIDSCANRESULT_TIMESTAMP = properties.getProperty("havis.net.aim.serialize.RfidScanResult.timestamp", "Timestamp");
+	public static final String RFIDSCANRESULT_READDATA = properties.getProperty("havis.net.aim.serialize.RfidScanResult.readData", "ReadData");
 	public static final String RFIDSIGHTING_ID = properties.getProperty("havis.net.aim.serialize.RfidSighting.id", "rfidSighting_");
 	public static final String RFIDSIGHTING_ANTENNA = properties.getProperty("havis.net.aim.serialize.RfidSighting.antenna", "Antenna");
 	public static final String RFIDSIGHTING_STRENGTH = properties.getProperty("havis.net.aim.serialize.RfidSighting.strength", "Strength");
 	public static final String RFIDSIGHTING_TIMESTAMP = properties.getProperty("havis.net.aim.serialize.RfidSighting.timestamp", "Timestamp");
 	public static final String RFIDSIGHTING_CURRENTPOWERLEVEL = properties.getProperty("havis.net.aim.serialize.RfidSighting.currentPowerLevel",
 			"CurrentPowerLevel");
+	public static final String RFIDSIGHTING_COUNT = properties.getProperty("havis.net.aim.serialize.RfidSighting.count", "Count");
+	public static final String RFIDSIGHTING_FIRSTTIMESTAMP = properties.getProperty("havis.net.aim.serialize.RfidSighting.firstTimestamp",
+			"FirstTimestamp");
+	public static final String RFIDSIGHTING_MINSTRENGTH = properties.getProperty("havis.net.aim.serialize.RfidSighting.minStrength", "MinStrength");
+	public static final String RFIDSIGHTING_MAXSTRENGTH = properties.getProperty("havis.net.aim.serialize.RfidSighting.maxStrength", "MaxStrength");
 	public static final String SCANDATA_ID = properties.getProperty("havis.net.aim.serialize.ScanData.id", "scanData_");
 	public static final String SCANDATA_BYTESTRING = properties.getProperty("havis.net.aim.serialize.ScanData.byteString", "ByteString");
 	public static final String SCANDATA_STRING = properties.getProperty("havis.net.aim.serialize.ScanData.string", "String");
@@ -142,6 +149,8 @@ public class Environment {
 	public static final String METHOD_NAME_SCAN_STOP = properties.getProperty("havis.net.aim.method.name.scanStop", INSTANCE_NAME + ".ScanStop");
 	public static final String METHOD_NAME_READ = properties.getProperty("havis.net.aim.method.name.readTag", INSTANCE_NAME + ".ReadTag");
 	public static final String METHOD_NAME_WRITE = properties.getProperty("havis.net.aim.method.name.writeTag", INSTANCE_NAME + ".WriteTag");
+	public static final String METHOD_NAME_READ_TAGS = properties.getProperty("havis.net.aim.method.name.readTags", INSTANCE_NAME + ".ReadTags");
+	public static final String METHOD_NAME_WRITE_TAGS = properties.getProperty("havis.net.aim.method.name.writeTags", INSTANCE_NAME + ".WriteTags");
 	public static final String METHOD_NAME_LOCK = properties.getProperty("havis.net.aim.method.name.lockTag", INSTANCE_NAME + ".LockTag");
 	public static final String METHOD_NAME_KILL = properties.getProperty("havis.net.aim.method.name.killTag", INSTANCE_NAME + ".KillTag");
 	public static final String METHOD_NAME_SET_PASSWORD = properties.getProperty("havis.net.aim.method.name.setTagPassword", INSTANCE_NAME + ".SetTagPassword");
@@ -153,6 +162,21 @@ public class Environment {
 
 	public static final int MAXIMUM_SIGHTINGS = Integer.valueOf(properties.getProperty("havis.net.aim.maxSightings", "1000"));
 	public static final int EVENT_INTERVAL = Integer.valueOf(properties.getProperty("havis.net.aim.event.interval", "300"));
+	public static final int LAST_SCAN_DATA_INTERVAL = Integer.valueOf(properties.getProperty("havis.net.aim.lastScanData.interval", "1000"));
+	public static final int IO_DATA_INTERVAL = Integer.valueOf(properties.getProperty("havis.net.aim.ioData.interval", "100"));
+	public static final int CONNECTION_IDLE_TIMEOUT = Integer.valueOf(properties.getProperty("havis.net.aim.connection.idleTimeout", "0"));
+	public static final boolean CONNECTION_CONNECT_AHEAD = Boolean.valueOf(properties.getProperty("havis.net.aim.connection.connectAhead", "false"));
+	public static final boolean SCAN_WARM_UP = Boolean.valueOf(properties.getProperty("havis.net.aim.scan.warmUp", "false"));
+	public static final boolean TAG_ACCESS_VERIFY = Boolean.valueOf(properties.getProperty("havis.net.aim.tagAccess.verify", "true"));
+	public static final int SCAN_READ_BANK = Integer.valueOf(properties.getProperty("havis.net.aim.scan.read.bank", "-1"));
+	public static final int SCAN_READ_OFFSET = Integer.valueOf(properties.getProperty("havis.net.aim.scan.read.offset", "0"));
+	public static final int SCAN_READ_LENGTH = Integer.valueOf(properties.getProperty("havis.net.aim.scan.read.length", "0"));
+	public static final int TAG_READ_CACHE_SIZE = Integer.valueOf(properties.getProperty("havis.net.aim.tagRead.cache.size", "256"));
+	public static final int TAG_READ_CACHE_TIME_TO_LIVE = Integer.valueOf(properties.getProperty("havis.net.aim.tagRead.cache.timeToLive", "60000"));
+	public static final boolean TAG_READ_CACHE_USER_MEMORY = Boolean.valueOf(properties.getProperty("havis.net.aim.tagRead.cache.userMemory", "false"));
+	public static final int EVENT_QUEUE_CAPACITY = Integer.valueOf(properties.getProperty("havis.net.aim.event.queue.capacity", "1024"));
+	public static final OverflowPolicy EVENT_QUEUE_OVERFLOW = parseOverflowPolicy(properties.getProperty("havis.net.aim.event.queue.overflow",
+			"DROP_OLDEST"));
 
 	public static final short TAG_SET_CURRENT = (short) Integer.valueOf(properties.getProperty("havis.net.aim.tagSet.current", "0")).intValue();
 	public static final short TAG_SET_ADDITIONS = (short) Integer.valueOf(properties.getProperty("havis.net.aim.tagSet.additions", "1")).intValue();
@@ -214,6 +238,16 @@ public class Environment {
 		return ret;
 	}
 
+	private static OverflowPolicy parseOverflowPolicy(String value) {
+		try {
+			return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+		} catch (IllegalArgumentException e) {
+			log.log(Level.WARNING, "Invalid event queue overflow policy \"{0}\", using {1}",
+					new Object[] { value, OverflowPolicy.DROP_OLDEST });
+			return OverflowPolicy.DROP_OLDEST;
+		}
+	}
+
 	private static String getMicaNameOrDefault() {
 		String micaName = "mica-00";
 		String micaNameProperty = "mica.device.name";
@@ -0,0 +1,45 @@
+package havis.net.aim.opcua;
+
+import java.util.Arrays;
+
+/**
+ * Cache for the "@id" values of serialized structures consisting of a prefix
+ * and an index. The cache grows on demand up to a limit, ids with a greater
+ * index are created on each call.
+ */
+public class IdCache {
+
+	private final String prefix;
+	private final int limit;
+	private volatile String[] ids;
+
+	/**
+	 * @param prefix
+	 *            the prefix of the ids
+	 * @param limit
+	 *            the max. number of cached ids
+	 */
+	public IdCache(String prefix, int limit) {
+		this.prefix = prefix;
+		this.limit = limit;
+		this.ids = new String[Math.min(16, limit)];
+	}
+
+	/**
+	 * @param index
+	 *            the index
+	 * @return The id for the index
+	 */
+	public String get(int index) {
+		if (index >= limit)
+			return prefix + index;
+		String[] ids = this.ids;
+		if (index >= ids.length)
+			this.ids = ids = Arrays.copyOf(ids, Math.min(limit, Math.max(ids.length * 2, index + 1)));
+		String id = ids[index];
+		/* concurrent calls may create the same id twice, which does no harm */
+		if (id == null)
+			ids[index] = id = prefix + index;
+		return id;
+	}
+}
@@ -0,0 +1,22 @@
+package havis.net.aim.opcua;
+
+/**
+ * Policy for a full event buffer of an asynchronous scan
+ */
+public enum OverflowPolicy {
+	/**
+	 * Removes the oldest event from the buffer
+	 */
+	DROP_OLDEST,
+	/**
+	 * Keeps the event outside the buffer and merges the sightings of further
+	 * events of the same EPC into it until the buffer has space again. At most
+	 * as many events as fit into the buffer are kept, the events of further
+	 * EPCs are dropped.
+	 */
+	COALESCE,
+	/**
+	 * Blocks the inventory until the buffer has space again
+	 */
+	BLOCK
+}
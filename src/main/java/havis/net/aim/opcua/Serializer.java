@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import havis.net.aim.device.rf.BufferedRfidScanResult;
+import havis.net.aim.device.rf.SightingBuffer;
 import havis.net.aim.xsd.AntennaNameIdPair;
 import havis.net.aim.xsd.AutoIdOperationStatusEnumeration;
 import havis.net.aim.xsd.CodeTypeEnumeration;
@@ -18,6 +20,23 @@ import havis.net.aim.xsd.TagTypeEnumeration;
 import havis.net.aim.xsd.TagTypesType;
 
 public class Serializer {
+
+	/* max. number of scan results with cached ids */
+	private static final int ID_CACHE_SIZE = 1024;
+	/* max. number of scan results with cached sighting ids */
+	private static final int SIGHTING_ID_CACHE_SIZE = 16;
+
+	private static final IdCache RFIDSCANRESULT_IDS = new IdCache(Environment.RFIDSCANRESULT_ID, ID_CACHE_SIZE);
+	private static final IdCache SCANDATA_IDS = new IdCache(Environment.SCANDATA_ID, ID_CACHE_SIZE);
+	private static final IdCache SCANDATAEPC_IDS = new IdCache(Environment.SCANDATAEPC_ID, ID_CACHE_SIZE);
+	private static final IdCache[] RFIDSIGHTING_IDS = new IdCache[SIGHTING_ID_CACHE_SIZE];
+
+	static {
+		/* filled in advance, the array is read by concurrent calls */
+		for (int i = 0; i < RFIDSIGHTING_IDS.length; i++)
+			RFIDSIGHTING_IDS[i] = new IdCache(Environment.RFIDSIGHTING_ID + i + "_", Environment.MAXIMUM_SIGHTINGS);
+	}
+
 	public static Map<String, Object>[] serialize(List<AntennaNameIdPair> antennaNames) {		
 		
 		@SuppressWarnings("unchecked")
@@ -56,52 +75,92 @@ public class Serializer {
 	}
 	
 	public static Map<String, Object> serialize(RfidScanResult result, int iRfidScanResult) {
-		Map<String, Object> resultMap = new HashMap<>();			
-		resultMap.put("@id", Environment.RFIDSCANRESULT_ID + iRfidScanResult);
-		
-		@SuppressWarnings("unchecked")
-		Map<String, Object>[] arrayOfSightings = new HashMap[result.getSightings().size()];
-					
-		for (int iSighting = 0; iSighting < result.getSightings().size(); iSighting++) {
-			RfidSighting sighting = result.getSightings().get(iSighting);				
-			Map<String, Object> sightingMap = new HashMap<>();
-			sightingMap.put("@id", Environment.RFIDSIGHTING_ID + iRfidScanResult + "_" + iSighting);
-			sightingMap.put(Environment.RFIDSIGHTING_ANTENNA, sighting.getAntennaId());
-			sightingMap.put(Environment.RFIDSIGHTING_STRENGTH, sighting.getStrength());
-			sightingMap.put(Environment.RFIDSIGHTING_TIMESTAMP, toWindowsTimestamp(sighting.getTimestamp()));
-			sightingMap.put(Environment.RFIDSIGHTING_CURRENTPOWERLEVEL, sighting.getCurrentPowerLevel());				
-			arrayOfSightings[iSighting] = sightingMap;					
-		}
-		
-		resultMap.put(Environment.RFIDSCANRESULT_SIGHTING, arrayOfSightings);
+		Map<String, Object> resultMap = new HashMap<>(8);
+		resultMap.put("@id", RFIDSCANRESULT_IDS.get(iRfidScanResult));
+
+		resultMap.put(Environment.RFIDSCANRESULT_SIGHTING, serializeSightings(result, iRfidScanResult));
 		resultMap.put(Environment.RFIDSCANRESULT_CODETYPE, result.getCodeType().name());
-		
-		Map<String, Object> scanDataMap = new HashMap<>();
-		scanDataMap.put("@id", Environment.SCANDATA_ID + iRfidScanResult);
-		
+
+		Map<String, Object> scanDataMap = new HashMap<>(8);
+		scanDataMap.put("@id", SCANDATA_IDS.get(iRfidScanResult));
+
 		if (result.getScanData().getByteString() != null)
-			scanDataMap.put(Environment.SCANDATA_BYTESTRING, boxByteArray(result.getScanData().getByteString()));				
-		
+			scanDataMap.put(Environment.SCANDATA_BYTESTRING, boxByteArray(result.getScanData().getByteString()));
+
 		if (result.getScanData().getString() != null)
 			scanDataMap.put(Environment.SCANDATA_STRING, result.getScanData().getString());
-					
+
 		if (result.getScanData().getEpc() != null) {
-			Map<String, Object> scanDataEpcMap = new HashMap<>();
-			scanDataEpcMap.put("@id", Environment.SCANDATAEPC_ID  + iRfidScanResult);
+			Map<String, Object> scanDataEpcMap = new HashMap<>(8);
+			scanDataEpcMap.put("@id", SCANDATAEPC_IDS.get(iRfidScanResult));
 			scanDataEpcMap.put(Environment.SCANDATAEPC_PC, result.getScanData().getEpc().getPc());
-			scanDataEpcMap.put(Environment.SCANDATAEPC_UID, boxByteArray(result.getScanData().getEpc().getUid()));
+			/* the boxed UID is kept by the result for further serializations */
+			scanDataEpcMap.put(Environment.SCANDATAEPC_UID, result instanceof BufferedRfidScanResult ? ((BufferedRfidScanResult) result)
+					.getBoxedUid() : boxByteArray(result.getScanData().getEpc().getUid()));
 			scanDataEpcMap.put(Environment.SCANDATAEPC_XPC_W1, 0);
 			scanDataEpcMap.put(Environment.SCANDATAEPC_XPC_W2, 0);
 			scanDataMap.put(Environment.SCANDATA_EPC, scanDataEpcMap);
 		}
-		
+
 		resultMap.put(Environment.RFIDSCANRESULT_SCANDATA, scanDataMap);
 		resultMap.put(Environment.RFIDSCANRESULT_TIMESTAMP, toWindowsTimestamp(result.getTimeStamp()));
-		
+
+		/* only set if the tag has been read during the scan */
+		if (result.getReadData() != null)
+			resultMap.put(Environment.RFIDSCANRESULT_READDATA, boxByteArray(result.getReadData()));
+
 		return resultMap;
 	}
-	
-	
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object>[] serializeSightings(RfidScanResult result, int iRfidScanResult) {
+		IdCache ids = getSightingIds(iRfidScanResult);
+
+		/* read the sightings from the buffer if the sighting list has not been created */
+		if (result instanceof BufferedRfidScanResult && ((BufferedRfidScanResult) result).isBuffered()) {
+			SightingBuffer buffer = ((BufferedRfidScanResult) result).getSightingBuffer();
+			Map<String, Object>[] arrayOfSightings = new HashMap[buffer.size()];
+			for (int iSighting = 0; iSighting < arrayOfSightings.length; iSighting++) {
+				Map<String, Object> sightingMap = new HashMap<>(8);
+				sightingMap.put("@id", ids.get(iSighting));
+				sightingMap.put(Environment.RFIDSIGHTING_ANTENNA, (int) buffer.getAntennaId(iSighting));
+				sightingMap.put(Environment.RFIDSIGHTING_STRENGTH, buffer.getStrength(iSighting));
+				sightingMap.put(Environment.RFIDSIGHTING_TIMESTAMP, toWindowsTimestamp(buffer.getTimestamp(iSighting)));
+				sightingMap.put(Environment.RFIDSIGHTING_CURRENTPOWERLEVEL, (int) buffer.getCurrentPowerLevel(iSighting));
+				arrayOfSightings[iSighting] = sightingMap;
+			}
+			return arrayOfSightings;
+		}
+
+		List<RfidSighting> sightings = result.getSightings();
+		Map<String, Object>[] arrayOfSightings = new HashMap[sightings.size()];
+		for (int iSighting = 0; iSighting < arrayOfSightings.length; iSighting++) {
+			RfidSighting sighting = sightings.get(iSighting);
+			boolean aggregated = sighting.getCount() != null;
+			Map<String, Object> sightingMap = new HashMap<>(aggregated ? 16 : 8);
+			sightingMap.put("@id", ids.get(iSighting));
+			sightingMap.put(Environment.RFIDSIGHTING_ANTENNA, sighting.getAntennaId());
+			sightingMap.put(Environment.RFIDSIGHTING_STRENGTH, sighting.getStrength());
+			sightingMap.put(Environment.RFIDSIGHTING_TIMESTAMP, toWindowsTimestamp(sighting.getTimestamp()));
+			sightingMap.put(Environment.RFIDSIGHTING_CURRENTPOWERLEVEL, sighting.getCurrentPowerLevel());
+			if (aggregated) {
+				// aggregated sighting
+				sightingMap.put(Environment.RFIDSIGHTING_COUNT, sighting.getCount());
+				sightingMap.put(Environment.RFIDSIGHTING_FIRSTTIMESTAMP, toWindowsTimestamp(sighting.getFirstTimestamp()));
+				sightingMap.put(Environment.RFIDSIGHTING_MINSTRENGTH, sighting.getMinStrength());
+				sightingMap.put(Environment.RFIDSIGHTING_MAXSTRENGTH, sighting.getMaxStrength());
+			}
+			arrayOfSightings[iSighting] = sightingMap;
+		}
+		return arrayOfSightings;
+	}
+
+	private static IdCache getSightingIds(int iRfidScanResult) {
+		if (iRfidScanResult >= RFIDSIGHTING_IDS.length)
+			return new IdCache(Environment.RFIDSIGHTING_ID + iRfidScanResult + "_", 0);
+		return RFIDSIGHTING_IDS[iRfidScanResult];
+	}
+
 	/* milliseconds between 1/1/1601 and 1/1/1970 */
 	private static final long ERA_OFFSET = 11644473600L * 1000L;
 	
@@ -126,6 +185,26 @@ public class Serializer {
 		return new Object[] { status.ordinal() };
 	}
 
+	public static Object[] serializeReadResults(List<ReadResultPair> rrps) {
+		Byte[][] readData = new Byte[rrps.size()][];
+		Integer[] statuses = new Integer[rrps.size()];
+
+		for (int i = 0; i < rrps.size(); i++) {
+			Object[] rrp = serialize(rrps.get(i));
+			readData[i] = (Byte[]) rrp[0];
+			statuses[i] = (Integer) rrp[1];
+		}
+
+		return new Object[] { readData, statuses };
+	}
+
+	public static Object[] serializeStatuses(List<AutoIdOperationStatusEnumeration> statuses) {
+		Integer[] ordinals = new Integer[statuses.size()];
+		for (int i = 0; i < ordinals.length; i++)
+			ordinals[i] = statuses.get(i).ordinal();
+		return new Object[] { ordinals };
+	}
+
 	public static Object serialize(ScanData lastScanData) {
 		
 		Map<String, Object> scanDataMap = new HashMap<>();
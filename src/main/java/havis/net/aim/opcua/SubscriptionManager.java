@@ -1,10 +1,10 @@
 package havis.net.aim.opcua;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,19 +19,57 @@ import havis.opcua.message.MessageHandler;
 
 public class SubscriptionManager implements ParamChangedListener, RfidEventListener {
 	private static final Logger log = Logger.getLogger(SubscriptionManager.class.getName());	
-	private List<Param> paramSubscriptions;
-	private List<EventType> eventSubscriptions;
+	/*
+	 * subscriptions as bit masks over the ordinals of the enumerations, the
+	 * masks are changed atomically and read without locking
+	 */
+	private final AtomicLong paramSubscriptions = new AtomicLong();
+	private final AtomicLong eventSubscriptions = new AtomicLong();
 	private MessageHandler mHdl;
-	
+
+	static {
+		if (Param.values().length > Long.SIZE || EventType.values().length > Long.SIZE)
+			throw new IllegalStateException("Too many subscribable values for a bit mask");
+	}
+
 	public SubscriptionManager(MessageHandler messageHandler) {
 		this.mHdl = messageHandler;
-		this.paramSubscriptions = new ArrayList<>();
-		this.eventSubscriptions = new ArrayList<>();
+	}
+
+	private static boolean contains(AtomicLong subscriptions, Enum<?> value) {
+		return (subscriptions.get() & (1L << value.ordinal())) != 0;
+	}
+
+	/**
+	 * @return true if the value has not been contained
+	 */
+	private static boolean add(AtomicLong subscriptions, Enum<?> value) {
+		long bit = 1L << value.ordinal();
+		long current;
+		do {
+			current = subscriptions.get();
+			if ((current & bit) != 0)
+				return false;
+		} while (!subscriptions.compareAndSet(current, current | bit));
+		return true;
+	}
+
+	/**
+	 * @return true if the value has been contained
+	 */
+	private static boolean remove(AtomicLong subscriptions, Enum<?> value) {
+		long bit = 1L << value.ordinal();
+		long current;
+		do {
+			current = subscriptions.get();
+			if ((current & bit) == 0)
+				return false;
+		} while (!subscriptions.compareAndSet(current, current & ~bit));
+		return true;
 	}
 
 	public void addSubscription(Param param, Object currentValue) {
-		if (!this.paramSubscriptions.contains(param)) {			
-			this.paramSubscriptions.add(param);
+		if (add(this.paramSubscriptions, param)) {
 			log.log(Level.FINE, "Subscribed parameter {0}.", param);
 		} else log.log(Level.FINE, "Parameter {0} already subscribed.", param);
 		
@@ -42,20 +80,19 @@ public class SubscriptionManager implements ParamChangedListener, RfidEventListe
 	}
 	
 	public void removeSubscription(Param param) {
-		if (this.paramSubscriptions.remove(param))
+		if (remove(this.paramSubscriptions, param))
 			log.log(Level.FINE, "Unsubscribed parameter {0}.", param);
 	}
 	
 	public void addSubscription(EventType event) {
-		if (!this.eventSubscriptions.contains(event)) {
-			this.eventSubscriptions.add(event);		
+		if (add(this.eventSubscriptions, event)) {
 			log.log(Level.FINE, "Subscribed event {0}.", event);	
 			
 		} else log.log(Level.FINE, "Event {0} already subscribed.", event);
 	}
 	
 	public void removeSubscription(EventType event) {
-		if (this.eventSubscriptions.remove(event))
+		if (remove(this.eventSubscriptions, event))
 			log.log(Level.FINE, "Unsubscribed event {0}.", event);
 	}
 	
@@ -63,7 +100,7 @@ public class SubscriptionManager implements ParamChangedListener, RfidEventListe
 	@Override
 	@SuppressWarnings("unchecked")
 	public void paramChanged(Object source, Param param, Object newValue) {		
-		if (!paramSubscriptions.contains(param)) return;
+		if (!contains(paramSubscriptions, param)) return;
 		
 		log.log(Level.FINE, "Sending notification for change of parameter {0} to new value {1}", new Object[] { param.name, newValue });
 		
@@ -103,6 +140,26 @@ public class SubscriptionManager implements ParamChangedListener, RfidEventListe
 				mHdl.notify(notifyMap);
 				break;
 				
+			case HS1:
+			case HS1_DIRECTION:
+			case HS2:
+			case HS2_DIRECTION:
+			case HS3:
+			case HS3_DIRECTION:
+			case HS4:
+			case HS4_DIRECTION:
+			case SWS1_SWD1:
+			case SWS1_SWD1_DIRECTION:
+			case SWS2_SWD2:
+			case SWS2_SWD2_DIRECTION:
+			case LS1:
+			case LS1_DIRECTION:
+			case LS2:
+			case LS2_DIRECTION:
+				notifyMap.put(param.name, (Integer)newValue);
+				mHdl.notify(notifyMap);
+				break;
+				
 			default:
 				break;							
 		}
@@ -110,7 +167,7 @@ public class SubscriptionManager implements ParamChangedListener, RfidEventListe
 	
 	@Override
 	public void rfidEventOccured(Object source, EventType event, Date timeStamp, Map<String, Object> eventArgs) {
-		if (!eventSubscriptions.contains(event)) return;
+		if (!contains(eventSubscriptions, event)) return;
 		
 		switch (event) {
 			case RFID_SCAN_EVENT:
@@ -138,8 +195,8 @@ public class SubscriptionManager implements ParamChangedListener, RfidEventListe
 	}
 	
 	public void removeAllSubscriptions() {
-		this.paramSubscriptions.clear();
-		this.eventSubscriptions.clear();
+		this.paramSubscriptions.set(0);
+		this.eventSubscriptions.set(0);
 		log.log(Level.FINE, "Unsubscribed all parameters and events.");
 	}
 
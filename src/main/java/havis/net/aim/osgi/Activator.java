@@ -15,9 +15,12 @@ import org.osgi.util.tracker.ServiceTracker;
 import havis.device.io.IODevice;
 import havis.device.rf.RFDevice;
 import havis.net.aim.device.rf.AimRfidReaderDevice;
+import havis.net.aim.device.rf.InventoryExecutor;
+import havis.net.aim.device.rf.Scheduler;
 import havis.net.aim.opcua.AimDataProvider;
 import havis.net.aim.opcua.ConfigurationManager;
 import havis.net.aim.opcua.DeserializerException;
+import havis.net.aim.opcua.Environment;
 import havis.net.aim.rest.RESTApplication;
 import havis.net.aim.rest.SecurityConfiguration;
 import havis.opcua.message.MessageHandler;
@@ -32,6 +35,7 @@ public class Activator implements BundleActivator {
 	private RFDevice rfDevice;
 	private IODevice ioDevice;
 	private ServiceRegistration<Application> restService;
+	private AimRfidReaderDevice device;
 	MessageHandler handler;
 
 	@Override
@@ -101,6 +105,10 @@ public class Activator implements BundleActivator {
 		// close message handler and rest service
 		close();
 
+		// stop scheduled tasks and inventories
+		Scheduler.shutdown();
+		InventoryExecutor.shutdown();
+
 		rfDevice = null;
 		ioDevice = null;
 	}
@@ -116,10 +124,28 @@ public class Activator implements BundleActivator {
 		restService = context.registerService(Application.class, new RESTApplication(configurationHelper, security),
 				null);
 		try {
-			handler.open(
-					new AimDataProvider(new AimRfidReaderDevice(rfDevice, ioDevice, configurationHelper), handler));
+			device = new AimRfidReaderDevice(rfDevice, ioDevice, configurationHelper);
+			handler.open(new AimDataProvider(device, handler));
 		} catch (DeserializerException e) {
 			log.log(Level.SEVERE, "Cannot open message handler", e);
+			return;
+		}
+
+		if (Environment.CONNECTION_CONNECT_AHEAD || Environment.SCAN_WARM_UP) {
+			final AimRfidReaderDevice device = this.device;
+			/*
+			 * open the device connections without delaying the bundle start
+			 * or the tasks of the scheduler
+			 */
+			InventoryExecutor.get().execute(new Runnable() {
+				@Override
+				public void run() {
+					if (Environment.CONNECTION_CONNECT_AHEAD)
+						device.connect();
+					if (Environment.SCAN_WARM_UP)
+						device.warmUp();
+				}
+			});
 		}
 	}
 
@@ -132,6 +158,11 @@ public class Activator implements BundleActivator {
 			handler = null;
 		}
 
+		if (device != null) {
+			device.disconnect();
+			device = null;
+		}
+
 		if (restService != null) {
 			restService.unregister();
 			restService = null;
@@ -1,6 +1,7 @@
 package havis.net.aim.ui.client;
 
 import havis.net.aim.ui.resourcebundle.AppResources;
+import havis.net.aim.xsd.SightingAggregation;
 import havis.net.aim.xsd.TagSet;
 import havis.net.ui.shared.client.ConfigurationSection;
 import havis.net.ui.shared.client.event.MessageEvent;
@@ -31,6 +32,9 @@ public class ConfigSection extends ConfigurationSection implements ConfigSection
 	@UiField
 	ListBox tagSet;
 
+	@UiField
+	ListBox sightingAggregation;
+
 	private AppResources appRes = AppResources.INSTANCE;
 	private ResourceBundle res = ResourceBundle.INSTANCE;
 
@@ -61,6 +65,7 @@ public class ConfigSection extends ConfigurationSection implements ConfigSection
 		appRes.css().ensureInjected();
 		res.css().ensureInjected();
 		initializeTagSet();
+		initializeSightingAggregation();
 	}
 
 	private void initializeTagSet() {
@@ -69,11 +74,22 @@ public class ConfigSection extends ConfigurationSection implements ConfigSection
 		}
 	}
 
+	private void initializeSightingAggregation() {
+		for (SightingAggregation sa : SightingAggregation.values()) {
+			sightingAggregation.addItem(sa.name());
+		}
+	}
+
 	@UiHandler("tagSet")
 	void onTagSetChange(ChangeEvent event) {
 		presenter.onTagSetChange(TagSet.valueOf(tagSet.getSelectedValue()));
 	}
 
+	@UiHandler("sightingAggregation")
+	void onSightingAggregationChange(ChangeEvent event) {
+		presenter.onSightingAggregationChange(SightingAggregation.valueOf(sightingAggregation.getSelectedValue()));
+	}
+
 	@Override
 	public void setPresenter(Presenter presenter) {
 		this.presenter = presenter;
@@ -89,6 +105,11 @@ public class ConfigSection extends ConfigurationSection implements ConfigSection
 		return tagSet;
 	}
 
+	@Override
+	public ListBox getSightingAggregation() {
+		return sightingAggregation;
+	}
+
 	@Override
 	public HandlerRegistration addMessageEventHandler(Handler handler) {
 		return addHandler(handler, MessageEvent.getType());
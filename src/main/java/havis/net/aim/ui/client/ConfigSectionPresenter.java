@@ -3,6 +3,7 @@ package havis.net.aim.ui.client;
 import havis.net.aim.rest.async.OpcUaConfigurationServiceAsync;
 import havis.net.aim.ui.client.ConfigSectionView.Presenter;
 import havis.net.aim.xsd.Configuration;
+import havis.net.aim.xsd.SightingAggregation;
 import havis.net.aim.xsd.TagSet;
 import havis.net.ui.shared.client.event.MessageEvent.MessageType;
 import havis.net.ui.shared.client.widgets.LoadingSpinner;
@@ -28,6 +29,17 @@ public class ConfigSectionPresenter implements Presenter {
 	public void onTagSetChange(TagSet tagset) {
 		Configuration config = new Configuration();
 		config.setTagSet(tagset);
+		setConfiguration(config);
+	}
+
+	@Override
+	public void onSightingAggregationChange(SightingAggregation sightingAggregation) {
+		Configuration config = new Configuration();
+		config.setSightingAggregation(sightingAggregation);
+		setConfiguration(config);
+	}
+
+	private void setConfiguration(Configuration config) {
 		service.setConfiguration(config, new MethodCallback<Void>() {
 			
 			@Override
@@ -50,6 +62,8 @@ public class ConfigSectionPresenter implements Presenter {
 			public void onSuccess(Method method, Configuration response) {
 				TagSet ts = response.getTagSet();
 				view.getTagSet().setSelectedIndex(ts.ordinal());
+				SightingAggregation sa = response.getSightingAggregation();
+				view.getSightingAggregation().setSelectedIndex(sa == null ? 0 : sa.ordinal());
 			}
 			
 			@Override
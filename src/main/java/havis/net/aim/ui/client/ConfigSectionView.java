@@ -1,5 +1,6 @@
 package havis.net.aim.ui.client;
 
+import havis.net.aim.xsd.SightingAggregation;
 import havis.net.aim.xsd.TagSet;
 import havis.net.ui.shared.client.event.MessageEvent.MessageType;
 
@@ -9,11 +10,13 @@ import com.google.gwt.user.client.ui.ListBox;
 public interface ConfigSectionView extends IsWidget {
 	void setPresenter(Presenter presenter);
 	ListBox getTagSet();
+	ListBox getSightingAggregation();
 
 	void showMessage(MessageType messageType, String message);
 
 	public interface Presenter {
 		void onTagSetChange(TagSet tagset);
+		void onSightingAggregationChange(SightingAggregation sightingAggregation);
 		void loadConfiguration();
 	}
 }
@@ -14,4 +14,5 @@ public interface ConstantsResource extends Messages {
 	String publicServerCert();
 	String privateServerCert();
 	String tagSet();
+	String sightingAggregation();
 }
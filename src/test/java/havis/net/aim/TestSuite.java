@@ -9,9 +9,16 @@ import org.junit.runners.Suite.SuiteClasses;
 		havis.net.aim.device.rf.AimRfidReaderDeviceTest.class, //
 		havis.net.aim.device.rf.InventoryThreadTest.class, //
 		havis.net.aim.device.rf.DataTypeConverterTest.class, //
+		havis.net.aim.device.rf.EpcMapTest.class, //
 		havis.net.aim.device.rf.IODeviceConnectionManagerTest.class, //
+		havis.net.aim.device.rf.IOPortCacheTest.class, //
+		havis.net.aim.device.rf.LastScanDataPublisherTest.class, //
 		havis.net.aim.device.rf.MapperTest.class, //
 		havis.net.aim.device.rf.RFDeviceConnectionManagerTest.class, //
+		havis.net.aim.device.rf.ScanEventDispatcherTest.class, //
+		havis.net.aim.device.rf.SightingAggregatorTest.class, //
+		havis.net.aim.device.rf.SightingBufferTest.class, //
+		havis.net.aim.device.rf.TagReadCacheTest.class, //
 		havis.net.aim.opcua.AimDataProviderTest.class, //
 		havis.net.aim.opcua.ConfigurationManagerTest.class, //
 		havis.net.aim.opcua.SerializerTest.class //
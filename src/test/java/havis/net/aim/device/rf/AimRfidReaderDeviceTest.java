@@ -4,8 +4,10 @@ import static mockit.Deencapsulation.getField;
 import static mockit.Deencapsulation.setField;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -14,6 +16,10 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
@@ -227,6 +233,7 @@ public class AimRfidReaderDeviceTest {
 		// unknown transmit power index (throws directly an
 		// ApplicationException)
 		tpte.setIndex((short) (tpte.getIndex() - 1));
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 		try {
 			assertEquals(tpte.getTransmitPower(), rfr300.getRfPower());
 			fail();
@@ -238,6 +245,7 @@ public class AimRfidReaderDeviceTest {
 
 		// two antennas with different transmit powers
 		conf.setTransmitPower(tpte2.getIndex());
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 		try {
 			assertEquals(tpte2.getTransmitPower(), rfr300.getRfPower());
 			fail();
@@ -245,6 +253,7 @@ public class AimRfidReaderDeviceTest {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
 		conf.setTransmitPower(tpte.getIndex());
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 
 		// unknown antenna
 		antenna.setAntennaId(3);
@@ -269,6 +278,7 @@ public class AimRfidReaderDeviceTest {
 
 		// without regulatory capabilities
 		caps.clear();
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 		try {
 			assertEquals(tpte.getTransmitPower(), rfr300.getRfPower());
 			fail();
@@ -463,6 +473,7 @@ public class AimRfidReaderDeviceTest {
 
 		// missing configuration (throws directly an ApplicationException)
 		confs.clear();
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 		try {
 			rfr300.getMinRssi();
 			fail();
@@ -494,6 +505,7 @@ public class AimRfidReaderDeviceTest {
 				result = new Exception("huhu");
 			}
 		};
+		rfr300.connectionAttempted(); // invalidate the cached configuration
 		try {
 			rfr300.getMinRssi();
 			fail();
@@ -503,6 +515,140 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
 	}
 
+	@Test
+	public void testGetMinRssiWhileScanning(@Mocked final RFDeviceConnectionManager rfDeviceConnectionManager)
+			throws Exception {
+		final AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+
+		final List<Configuration> confs = new ArrayList<>();
+		InventorySettings conf = new InventorySettings();
+		RssiFilter rssiFilter = new RssiFilter();
+		rssiFilter.setMinRssi((short) 3);
+		conf.setRssiFilter(rssiFilter);
+		confs.add(conf);
+
+		new NonStrictExpectations() {
+			{
+				rfDeviceConnectionManager.getRfDevice();
+				result = rfDevice;
+
+				rfDevice.getConfiguration(ConfigurationType.INVENTORY_SETTINGS, anyShort /* antennaId */, (short) 0,
+						(short) 0);
+				result = confs;
+			}
+		};
+
+		// load the configuration
+		final RfConfigurationCache cache = getField(rfr300, "rfConfigurationCache");
+		cache.getInventorySettings(rfDevice);
+
+		// hold the scan lock like a running scan
+		final Lock lock = getField(rfr300, "scanLock");
+		final CountDownLatch locked = new CountDownLatch(1);
+		final CountDownLatch finished = new CountDownLatch(1);
+		Thread scan = new Thread() {
+			@Override
+			public void run() {
+				lock.lock();
+				try {
+					locked.countDown();
+					finished.await();
+				} catch (InterruptedException e) {
+				} finally {
+					lock.unlock();
+				}
+			}
+		};
+		scan.start();
+		locked.await();
+		rfr300.setDeviceStatus(DeviceStatusEnumeration.SCANNING);
+
+		// the configuration is read without waiting for the scan and the
+		// device status is not changed
+		assertEquals(rssiFilter.getMinRssi(), rfr300.getMinRssi());
+		assertEquals(DeviceStatusEnumeration.SCANNING, rfr300.getDeviceStatus());
+
+		// without cached configuration the RF device is accessed after the scan
+		cache.invalidate();
+		final int[] minRssi = { 0 };
+		Thread get = new Thread() {
+			@Override
+			public void run() {
+				try {
+					minRssi[0] = rfr300.getMinRssi();
+				} catch (ApplicationException e) {
+				}
+			}
+		};
+		get.start();
+		get.join(100);
+		assertTrue(get.isAlive());
+
+		finished.countDown();
+		scan.join();
+		get.join();
+		assertEquals(rssiFilter.getMinRssi(), minRssi[0]);
+	}
+
+	@Test
+	public void testWarmUp(@Mocked final RFDeviceConnectionManager rfDeviceConnectionManager) throws Exception {
+		final AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+
+		// set transmit power table
+		final List<Capabilities> caps = new ArrayList<>();
+		RegulatoryCapabilities cap = new RegulatoryCapabilities();
+		TransmitPowerTable tpt = new TransmitPowerTable();
+		TransmitPowerTableEntry tpte = new TransmitPowerTableEntry();
+		tpte.setIndex((short) 2);
+		tpte.setTransmitPower((short) 3);
+		tpt.getEntryList().add(tpte);
+		cap.setTransmitPowerTable(tpt);
+		caps.add(cap);
+
+		// set antenna configurations
+		final List<Configuration> confs = new ArrayList<>();
+		AntennaConfiguration conf = new AntennaConfiguration();
+		conf.setId((short) 1);
+		conf.setTransmitPower(tpte.getIndex());
+		confs.add(conf);
+
+		new NonStrictExpectations() {
+			{
+				rfDeviceConnectionManager.getRfDevice();
+				result = rfDevice;
+
+				rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+				result = caps;
+
+				rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0 /* antennaId */,
+						(short) 0, (short) 0);
+				result = confs;
+			}
+		};
+
+		assertFalse(rfr300.isReady());
+		rfr300.warmUp();
+		assertTrue(rfr300.isReady());
+
+		// the power map of the next scan is loaded
+		RfConfigurationCache cache = getField(rfr300, "rfConfigurationCache");
+		assertEquals(1, cache.getPowerMap(rfDevice).size());
+
+		// another application requests the RF device
+		rfr300.connectionAttempted();
+		assertFalse(rfr300.isReady());
+
+		new Verifications() {
+			{
+				rfDeviceConnectionManager.acquire();
+				times = 1;
+
+				rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+				times = 1;
+			}
+		};
+	}
+
 	@Test
 	public void testSetMinRssi(@Mocked final Logger log) throws Exception {
 		final AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
@@ -554,8 +700,11 @@ public class AimRfidReaderDeviceTest {
 				times = 1;
 				assertEquals(1, l.size());
 				assertEquals(2, ((InventorySettings) l.get(0)).getRssiFilter().getMinRssi());
+				assertEquals(4, ((InventorySettings) l.get(0)).getRssiFilter().getMaxRssi());
 			}
 		};
+		// the settings returned by the device are not modified
+		assertEquals(3, conf.getRssiFilter().getMinRssi());
 
 		// missing configuration (throws directly an ApplicationException)
 		confs.clear();
@@ -697,7 +846,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 
 		// closing connection fails
 		new Expectations() {
@@ -713,7 +862,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 
 		// opening connection fails
 		new Expectations() {
@@ -728,7 +877,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 	}
 
 	@Test
@@ -841,7 +990,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 
 		// unexpected exceptions
 		new Expectations() {
@@ -857,7 +1006,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 
 		new Expectations() {
 			{
@@ -871,7 +1020,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 	}
 
 	@Test
@@ -1020,13 +1169,10 @@ public class AimRfidReaderDeviceTest {
 		changedParams.clear();
 		changedValues.clear();
 		rfr300Command.set(HaIOState.HIGH);
-		assertEquals(3, changedParams.size());
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(0).toString());
-		assertEquals(DeviceStatusEnumeration.BUSY, (DeviceStatusEnumeration) changedValues.get(0));
-		assertEquals(rfr300Command.getParam().toString(), changedParams.get(1).toString());
-		assertEquals(HaIOState.HIGH.value, (int) changedValues.get(1));
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(2).toString());
-		assertEquals(DeviceStatusEnumeration.IDLE, (DeviceStatusEnumeration) changedValues.get(2));
+		// the device status is not changed
+		assertEquals(1, changedParams.size());
+		assertEquals(rfr300Command.getParam().toString(), changedParams.get(0).toString());
+		assertEquals(HaIOState.HIGH.value, (int) changedValues.get(0));
 
 		new Verifications() {
 			{
@@ -1041,13 +1187,10 @@ public class AimRfidReaderDeviceTest {
 		changedParams.clear();
 		changedValues.clear();
 		rfr300Command.set(HaIOState.LOW);
-		assertEquals(3, changedParams.size());
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(0).toString());
-		assertEquals(DeviceStatusEnumeration.BUSY, (DeviceStatusEnumeration) changedValues.get(0));
-		assertEquals(rfr300Command.getParam().toString(), changedParams.get(1).toString());
-		assertEquals(HaIOState.LOW.value, (int) changedValues.get(1));
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(2).toString());
-		assertEquals(DeviceStatusEnumeration.IDLE, (DeviceStatusEnumeration) changedValues.get(2));
+		// the device status is not changed
+		assertEquals(1, changedParams.size());
+		assertEquals(rfr300Command.getParam().toString(), changedParams.get(0).toString());
+		assertEquals(HaIOState.LOW.value, (int) changedValues.get(0));
 
 		new Verifications() {
 			{
@@ -1068,7 +1211,7 @@ public class AimRfidReaderDeviceTest {
 		} catch (ApplicationException e) {
 			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
 		}
-		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
 	}
 
 	@Test
@@ -1216,13 +1359,10 @@ public class AimRfidReaderDeviceTest {
 		changedParams.clear();
 		changedValues.clear();
 		rfr300Command.set(HaIODirection.INPUT);
-		assertEquals(3, changedParams.size());
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(0).toString());
-		assertEquals(DeviceStatusEnumeration.BUSY, (DeviceStatusEnumeration) changedValues.get(0));
-		assertEquals(rfr300Command.getParam().toString(), changedParams.get(1).toString());
-		assertEquals(HaIODirection.INPUT.value, (int) changedValues.get(1));
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(2).toString());
-		assertEquals(DeviceStatusEnumeration.IDLE, (DeviceStatusEnumeration) changedValues.get(2));
+		// the device status is not changed
+		assertEquals(1, changedParams.size());
+		assertEquals(rfr300Command.getParam().toString(), changedParams.get(0).toString());
+		assertEquals(HaIODirection.INPUT.value, (int) changedValues.get(0));
 
 		new Verifications() {
 			{
@@ -1237,13 +1377,10 @@ public class AimRfidReaderDeviceTest {
 		changedParams.clear();
 		changedValues.clear();
 		rfr300Command.set(HaIODirection.OUTPUT);
-		assertEquals(3, changedParams.size());
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(0).toString());
-		assertEquals(DeviceStatusEnumeration.BUSY, (DeviceStatusEnumeration) changedValues.get(0));
-		assertEquals(rfr300Command.getParam().toString(), changedParams.get(1).toString());
-		assertEquals(HaIODirection.OUTPUT.value, (int) changedValues.get(1));
-		assertEquals(Param.DEVICE_STATUS.toString(), changedParams.get(2).toString());
-		assertEquals(DeviceStatusEnumeration.IDLE, (DeviceStatusEnumeration) changedValues.get(2));
+		// the device status is not changed
+		assertEquals(1, changedParams.size());
+		assertEquals(rfr300Command.getParam().toString(), changedParams.get(0).toString());
+		assertEquals(HaIODirection.OUTPUT.value, (int) changedValues.get(0));
 
 		new Verifications() {
 			{
@@ -1255,6 +1392,77 @@ public class AimRfidReaderDeviceTest {
 		};
 	}
 
+	@Test
+	public void testGetIOData(@Mocked final Logger log, @Mocked final IODevice ioDevice,
+			@Mocked final IODeviceConnectionManager ioDeviceConnectionManager) throws Exception {
+		final AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, ioDevice, configurationManager);
+
+		// all ports except port 8
+		final List<havis.device.io.Configuration> confs = new ArrayList<>();
+		for (short port = 1; port < 8; port++) {
+			IOConfiguration conf = new IOConfiguration();
+			conf.setId(port);
+			conf.setDirection(port % 2 == 0 ? Direction.OUTPUT : Direction.INPUT);
+			conf.setState(port % 2 == 0 ? State.HIGH : State.LOW);
+			confs.add(conf);
+		}
+		final IOConfiguration conf8 = new IOConfiguration();
+		conf8.setId((short) 8);
+		conf8.setDirection(Direction.OUTPUT);
+		conf8.setState(State.UNKNOWN);
+		new Expectations() {
+			{
+				log.isLoggable(withInstanceOf(Level.class));
+				result = true;
+
+				ioDeviceConnectionManager.getIODevice();
+				result = ioDevice;
+
+				ioDevice.getConfiguration(Type.IO, (short) 0);
+				result = confs;
+
+				ioDevice.getConfiguration(Type.IO, (short) 8);
+				result = Arrays.asList(conf8);
+			}
+		};
+
+		Map<Param, Integer> ioData = rfr300.getIOData();
+		assertEquals(16, ioData.size());
+		assertEquals(HaIOState.LOW.value(), (int) ioData.get(Param.HS1));
+		assertEquals(HaIODirection.INPUT.value(), (int) ioData.get(Param.HS1_DIRECTION));
+		assertEquals(HaIOState.HIGH.value(), (int) ioData.get(Param.HS2));
+		assertEquals(HaIODirection.OUTPUT.value(), (int) ioData.get(Param.HS2_DIRECTION));
+		assertEquals(HaIOState.LOW.value(), (int) ioData.get(Param.LS1));
+		assertEquals(HaIOState.UNKNOWN.value(), (int) ioData.get(Param.LS2));
+		assertEquals(HaIODirection.OUTPUT.value(), (int) ioData.get(Param.LS2_DIRECTION));
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
+
+		// one request for all ports and one for the missing port
+		new Verifications() {
+			{
+				ioDevice.getConfiguration(Type.IO, (short) 0);
+				times = 1;
+				ioDevice.getConfiguration(Type.IO, anyShort);
+				times = 2;
+			}
+		};
+
+		// missing configuration (throws directly an ApplicationException)
+		new Expectations() {
+			{
+				ioDevice.getConfiguration(Type.IO, (short) 8);
+				result = new ArrayList<>();
+			}
+		};
+		try {
+			rfr300.getIOData();
+			fail();
+		} catch (ApplicationException e) {
+			assertEquals(ApplicationException.ERR_CODE_OPC_INVALID_STATE, e.getErrorCode());
+		}
+		assertEquals(DeviceStatusEnumeration.IDLE, rfr300.getDeviceStatus());
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testScan() throws Exception {
@@ -1289,8 +1497,7 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
 		new Verifications() {
 			{
-				inventoryThread.startInventory(scanSettings, withInstanceOf(Lock.class), withInstanceOf(List.class),
-						rfr300);
+				inventoryThread.startInventory(scanSettings, withInstanceOf(List.class), rfr300);
 				times = 0;
 			}
 		};
@@ -1308,8 +1515,7 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(AutoIdOperationStatusEnumeration.RF_COMMUNICATION_ERROR, srp1.getStatus());
 		new Verifications() {
 			{
-				inventoryThread.startInventory(scanSettings, withInstanceOf(Lock.class), withInstanceOf(List.class),
-						rfr300);
+				inventoryThread.startInventory(scanSettings, withInstanceOf(List.class), rfr300);
 				times = 1;
 			}
 		};
@@ -1324,8 +1530,7 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, srp2.getStatus());
 		new Verifications() {
 			{
-				inventoryThread.startInventory(scanSettings, withInstanceOf(Lock.class), withInstanceOf(List.class),
-						rfr300);
+				inventoryThread.startInventory(scanSettings, withInstanceOf(List.class), rfr300);
 				times = 1;
 			}
 		};
@@ -1333,8 +1538,7 @@ public class AimRfidReaderDeviceTest {
 		final RfidScanResult scanResult = new RfidScanResult();
 		new Expectations() {
 			{
-				inventoryThread.startInventory(scanSettings, withInstanceOf(Lock.class), withInstanceOf(List.class),
-						rfr300);
+				inventoryThread.startInventory(scanSettings, withInstanceOf(List.class), rfr300);
 				result = Arrays.asList(scanResult);
 			}
 		};
@@ -1363,8 +1567,7 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(1, srp3.getResults().size());
 		new Verifications() {
 			{
-				inventoryThread.startInventory(scanSettings, withInstanceOf(Lock.class), withInstanceOf(List.class),
-						rfr300);
+				inventoryThread.startInventory(scanSettings, withInstanceOf(List.class), rfr300);
 				times = 1;
 			}
 		};
@@ -1775,40 +1978,58 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(DeviceStatusEnumeration.ERROR, rfr300.getDeviceStatus());
 
 		/*
-		 * test: readTag call with existing inventory thread to be suspended / resumed
-		 * exp.: suspendInventory() and resumeInventory() methods of invThread are
-		 * called
+		 * test: readTag call with existing inventory thread exp.: the operation is
+		 * run by the inventory thread between two cycles, result is
+		 * MISC_ERROR_TOTAL (tag with empty result list)
 		 */
 		new NonStrictExpectations() {
 			{
 				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
 				result = tags;
 
-				rfDeviceConnectionManager.acquire();
-				result = 0;
-
-				invThread.suspendInventory();
-				result = true;
+				invThread.access(withInstanceOf(Callable.class));
+				result = new Delegate<Object>() {
+					@SuppressWarnings("unused")
+					public Object access(Callable<Object> access) throws Exception {
+						return access.call();
+					}
+				};
 			}
 		};
 
 		setField(rfr300, "invThread", invThread);
 		rrp = rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_EPC, 0, 4, null);
+		assertEquals(AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL, rrp.getStatus());
 		new Verifications() {
 			{
-				invThread.suspendInventory();
-				invThread.resumeInventory();
+				invThread.access(withInstanceOf(Callable.class));
+				times = 1;
 			}
 		};
 
 		/*
-		 * test: readTag call with existing inventory thread returning false upon
-		 * suspend attempt exp.: readTag method return DEVICE_NOT_READY
+		 * test: readTag call with existing inventory thread which has already
+		 * finished exp.: the operation is run directly with the connection of the
+		 * scan
 		 */
 		new NonStrictExpectations() {
 			{
-				invThread.suspendInventory();
-				result = false;
+				invThread.access(withInstanceOf(Callable.class));
+				result = new RejectedExecutionException("Inventory finished");
+			}
+		};
+
+		rrp = rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_EPC, 0, 4, null);
+		assertEquals(AutoIdOperationStatusEnumeration.MISC_ERROR_TOTAL, rrp.getStatus());
+
+		/*
+		 * test: readTag call with existing inventory thread which does not
+		 * finish the current cycle in time exp.: DEVICE_NOT_READY
+		 */
+		new NonStrictExpectations() {
+			{
+				invThread.access(withInstanceOf(Callable.class));
+				result = new TimeoutException();
 			}
 		};
 
@@ -1816,6 +2037,417 @@ public class AimRfidReaderDeviceTest {
 		assertEquals(AutoIdOperationStatusEnumeration.DEVICE_NOT_READY, rrp.getStatus());
 	}
 
+	@Test
+	public void testReadTagCache(@Mocked final InventoryThread invThread,
+			@Mocked final RFDeviceConnectionManager rfDeviceConnectionManager) throws Exception {
+		final byte[] tid = RFUtils.hexToBytes("E2801130");
+		final List<TagOperation> executed = new ArrayList<>();
+
+		AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+		ScanData identifier = new ScanData();
+		identifier.setEpc(new ScanDataEpc());
+		identifier.getEpc().setUid(RFUtils.hexToBytes("300833B2DDD9004433221100"));
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> antennas, List<Filter> filters, List<TagOperation> operations) {
+						TagData td = new TagData();
+						td.setEpc(filters.get(0).getData());
+						for (TagOperation operation : operations) {
+							executed.add(operation);
+							if (operation instanceof ReadOperation) {
+								ReadResult rdRes = new ReadResult();
+								rdRes.setOperationId("");
+								rdRes.setResult(ReadResult.Result.SUCCESS);
+								rdRes.setReadData(tid);
+								td.getResultList().add(rdRes);
+							} else {
+								WriteResult wrRes = new WriteResult();
+								wrRes.setOperationId("");
+								wrRes.setResult(WriteResult.Result.SUCCESS);
+								td.getResultList().add(wrRes);
+							}
+						}
+						return Arrays.asList(td);
+					}
+				};
+			}
+		};
+
+		/* the TID is read once and served from the cache afterwards */
+		for (int i = 0; i < 2; i++) {
+			ReadResultPair rrp = rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_TID, 0, 4, null);
+			assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrp.getStatus());
+			assertArrayEquals(tid, rrp.getResultData());
+		}
+		assertEquals(1, executed.size());
+		assertEquals(1, rfr300.getTagReadCacheHitCount());
+		assertEquals(1, rfr300.getTagReadCacheMissCount());
+
+		/* reads with password and of the EPC are not cached */
+		rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_TID, 0, 4, new byte[] { 0x11, 0x22, 0x33,
+				0x44 });
+		rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_EPC, 0, 4, null);
+		assertEquals(3, executed.size());
+		assertEquals(1, rfr300.getTagReadCacheMissCount());
+
+		/* a write to the tag discards the cached data */
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rfr300.writeTag(identifier, CodeTypeEnumeration.EPC,
+				RFUtils.BANK_USR, 0, new byte[] { 0x11, 0x22 }, null));
+		assertEquals(4, executed.size());
+		rfr300.readTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_TID, 0, 4, null);
+		assertEquals(5, executed.size());
+		assertEquals(1, rfr300.getTagReadCacheHitCount());
+		assertEquals(2, rfr300.getTagReadCacheMissCount());
+	}
+
+	@Test
+	public void testReadWriteTags(@Mocked final InventoryThread invThread,
+			@Mocked final RFDeviceConnectionManager rfDeviceConnectionManager) throws Exception {
+		final String epc1 = "300833B2DDD9004433221101";
+		final String epc2 = "300833B2DDD9004433221102";
+
+		AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+		List<ScanData> identifiers = new ArrayList<>();
+		for (String epc : new String[] { epc1, null, epc2 }) {
+			ScanData identifier = new ScanData();
+			if (epc != null) {
+				identifier.setEpc(new ScanDataEpc());
+				identifier.getEpc().setUid(RFUtils.hexToBytes(epc));
+			}
+			identifiers.add(identifier);
+		}
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> antennas, List<Filter> filters, List<TagOperation> operations) {
+						TagData td = new TagData();
+						td.setEpc(filters.get(0).getData());
+						for (TagOperation operation : operations) {
+							if (operation instanceof ReadOperation) {
+								// the words of the EPC are read
+								ReadOperation rdOp = (ReadOperation) operation;
+								ReadResult rdRes = new ReadResult();
+								rdRes.setOperationId("");
+								rdRes.setResult(ReadResult.Result.SUCCESS);
+								rdRes.setReadData(Arrays.copyOfRange(td.getEpc(), rdOp.getOffset() * 2,
+										(rdOp.getOffset() + rdOp.getLength()) * 2));
+								td.getResultList().add(rdRes);
+							} else {
+								// the write to the first tag fails
+								WriteResult wrRes = new WriteResult();
+								wrRes.setOperationId("");
+								wrRes.setResult(RFUtils.bytesToHex(td.getEpc()).equals(epc1)
+										? WriteResult.Result.MEMORY_LOCKED_ERROR : WriteResult.Result.SUCCESS);
+								td.getResultList().add(wrRes);
+							}
+						}
+						return Arrays.asList(td);
+					}
+				};
+			}
+		};
+
+		/* each tag is read, the tag without identifier is skipped */
+		List<ReadResultPair> rrps = rfr300.readTags(identifiers, CodeTypeEnumeration.EPC, RFUtils.BANK_EPC, 1, 2,
+				null);
+		assertEquals(3, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(0).getStatus());
+		assertArrayEquals(RFUtils.hexToBytes(epc1.substring(2, 6)), rrps.get(0).getResultData());
+		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, rrps.get(1).getStatus());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(2).getStatus());
+		assertArrayEquals(RFUtils.hexToBytes(epc2.substring(2, 6)), rrps.get(2).getResultData());
+
+		/* the status of each write is returned */
+		List<AutoIdOperationStatusEnumeration> statuses = rfr300.writeTags(identifiers, CodeTypeEnumeration.EPC,
+				RFUtils.BANK_USR, 0, Arrays.asList(new byte[] { 0x11, 0x22 }, new byte[] { 0x11, 0x22 },
+						new byte[] { 0x11 }), null);
+		assertEquals(Arrays.asList(AutoIdOperationStatusEnumeration.PERMISSON_ERROR,
+				AutoIdOperationStatusEnumeration.NO_IDENTIFIER, AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE),
+				statuses);
+
+		/* invalid region */
+		rrps = rfr300.readTags(identifiers, CodeTypeEnumeration.EPC, -1, 0, 2, null);
+		assertEquals(3, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR, rrps.get(2).getStatus());
+
+		/* the connection is acquired once per batch */
+		new Verifications() {
+			{
+				rfDeviceConnectionManager.acquire();
+				times = 2;
+			}
+		};
+	}
+
+	@Test
+	public void testExecuteTagOperations(@Mocked final InventoryThread invThread,
+			@Mocked final RFDeviceConnectionManager rfDeviceConnectionManager) throws Exception {
+		final String epc = "300833B2DDD9004433221100";
+		final boolean[] lockFails = { false };
+		final boolean[] writeFails = { false };
+		final List<List<TagOperation>> accesses = new ArrayList<>();
+		final List<byte[]> filterData = new ArrayList<>();
+
+		AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+		ScanData identifier = new ScanData();
+		identifier.setEpc(new ScanDataEpc());
+		identifier.getEpc().setUid(RFUtils.hexToBytes(epc));
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> antennas, List<Filter> filters, List<TagOperation> operations) {
+						if (!operations.isEmpty()) {
+							accesses.add(new ArrayList<>(operations));
+							filterData.add(filters.get(0).getData());
+						}
+						TagData td = new TagData();
+						td.setEpc(filters.get(0).getData());
+						for (TagOperation operation : operations) {
+							if (operation instanceof ReadOperation) {
+								ReadResult rdRes = new ReadResult();
+								rdRes.setOperationId("");
+								rdRes.setResult(ReadResult.Result.SUCCESS);
+								rdRes.setReadData(new byte[] { 0x11, 0x22 });
+								td.getResultList().add(rdRes);
+							} else if (operation instanceof WriteOperation) {
+								WriteResult wrRes = new WriteResult();
+								wrRes.setOperationId("");
+								wrRes.setResult(writeFails[0] ? WriteResult.Result.MEMORY_LOCKED_ERROR
+										: WriteResult.Result.SUCCESS);
+								td.getResultList().add(wrRes);
+							} else if (operation instanceof LockOperation) {
+								LockResult lkRes = new LockResult();
+								lkRes.setOperationId("");
+								lkRes.setResult(lockFails[0] ? LockResult.Result.INCORRECT_PASSWORD_ERROR
+										: LockResult.Result.SUCCESS);
+								td.getResultList().add(lkRes);
+							}
+						}
+						return Arrays.asList(td);
+					}
+				};
+			}
+		};
+
+		WriteOperation wrOp = new WriteOperation();
+		wrOp.setBank(RFUtils.BANK_PSW);
+		wrOp.setOffset((short) 2);
+		wrOp.setData(new byte[] { 0x11, 0x22, 0x33, 0x44 });
+		LockOperation lockOp = new LockOperation();
+		lockOp.setField(Field.ACCESS_PASSWORD);
+		lockOp.setPrivilege(Privilege.LOCK);
+		ReadOperation rdOp = new ReadOperation();
+		rdOp.setBank(RFUtils.BANK_USR);
+		rdOp.setLength((short) 1);
+		final List<TagOperation> operations = Arrays.<TagOperation> asList(wrOp, lockOp, rdOp);
+
+		/* the results of all operations are returned */
+		List<ReadResultPair> rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC, operations);
+		assertEquals(3, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(0).getStatus());
+		assertNull(rrps.get(0).getResultData());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(1).getStatus());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(2).getStatus());
+		assertArrayEquals(new byte[] { 0x11, 0x22 }, rrps.get(2).getResultData());
+
+		/* the write and lock operations are executed one after another */
+		assertEquals(3, accesses.size());
+		assertEquals(Arrays.<TagOperation> asList(wrOp), accesses.get(0));
+		assertEquals(Arrays.<TagOperation> asList(lockOp), accesses.get(1));
+		assertEquals(Arrays.<TagOperation> asList(rdOp), accesses.get(2));
+
+		/* the execution is aborted at the failed lock operation */
+		accesses.clear();
+		lockFails[0] = true;
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC, operations);
+		assertEquals(2, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(0).getStatus());
+		assertEquals(AutoIdOperationStatusEnumeration.PERMISSON_ERROR, rrps.get(1).getStatus());
+		assertEquals(2, accesses.size());
+
+		/* the tag is not locked if the password has not been written */
+		accesses.clear();
+		lockFails[0] = false;
+		writeFails[0] = true;
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC, operations);
+		assertEquals(1, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.PERMISSON_ERROR, rrps.get(0).getStatus());
+		assertEquals(1, accesses.size());
+		writeFails[0] = false;
+
+		/* consecutive reads are executed together */
+		accesses.clear();
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				Arrays.<TagOperation> asList(rdOp, rdOp, wrOp));
+		assertEquals(3, rrps.size());
+		assertEquals(2, accesses.size());
+		assertEquals(2, accesses.get(0).size());
+
+		/* the operations following an EPC write access the tag with the new EPC */
+		final byte[] newEpc = RFUtils.hexToBytes("300833B2DDD9004433221199");
+		WriteOperation epcOp = new WriteOperation();
+		epcOp.setBank(RFUtils.BANK_EPC);
+		epcOp.setOffset((short) 2);
+		epcOp.setData(newEpc);
+		accesses.clear();
+		filterData.clear();
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				Arrays.<TagOperation> asList(epcOp, rdOp));
+		assertEquals(2, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(1).getStatus());
+		assertArrayEquals(RFUtils.hexToBytes(epc), filterData.get(0));
+		assertArrayEquals(newEpc, filterData.get(1));
+
+		/* the new EPC is unknown if the PC is written */
+		WriteOperation pcOp = new WriteOperation();
+		pcOp.setBank(RFUtils.BANK_EPC);
+		pcOp.setOffset((short) 1);
+		pcOp.setData(new byte[] { 0x30, 0x00 });
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				Arrays.<TagOperation> asList(pcOp, rdOp));
+		assertEquals(2, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, rrps.get(0).getStatus());
+		assertEquals(AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE, rrps.get(1).getStatus());
+
+		/* invalid operations are not executed */
+		accesses.clear();
+		WriteOperation oddOp = new WriteOperation();
+		oddOp.setBank(RFUtils.BANK_USR);
+		oddOp.setData(new byte[] { 0x11, 0x22, 0x33 });
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				Arrays.<TagOperation> asList(rdOp, oddOp));
+		assertEquals(1, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.NOT_SUPPORTED_BY_DEVICE, rrps.get(0).getStatus());
+		ReadOperation regionOp = new ReadOperation();
+		regionOp.setBank((short) 5);
+		rrps = rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				Arrays.<TagOperation> asList(regionOp));
+		assertEquals(1, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.REGION_NOT_FOUND_ERROR, rrps.get(0).getStatus());
+		assertTrue(accesses.isEmpty());
+
+		/* the tag without identifier is not accessed */
+		rrps = rfr300.executeTagOperations(new ScanData(), CodeTypeEnumeration.EPC, operations);
+		assertEquals(1, rrps.size());
+		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, rrps.get(0).getStatus());
+
+		assertTrue(rfr300.executeTagOperations(identifier, CodeTypeEnumeration.EPC,
+				new ArrayList<TagOperation>()).isEmpty());
+	}
+
+	@Test
+	public void testWriteTagWithoutVerify(@Mocked final InventoryThread invThread) throws Exception {
+		final String epc = "300833B2DDD9004433221100";
+		final List<List<String>> reported = new ArrayList<>();
+
+		AimRfidReaderDevice rfr300 = new AimRfidReaderDevice(rfDevice, null /* ioDevice */, configurationManager);
+		setField(rfr300, "tagAccessVerify", false);
+		ScanData identifier = new ScanData();
+		identifier.setEpc(new ScanDataEpc());
+		identifier.getEpc().setUid(RFUtils.hexToBytes(epc));
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> antennas, List<Filter> filters, List<TagOperation> operations) {
+						List<TagData> tags = new ArrayList<>();
+						for (String tagEpc : reported.get(0)) {
+							TagData td = new TagData();
+							td.setEpc(RFUtils.hexToBytes(tagEpc));
+							for (TagOperation operation : operations) {
+								WriteResult wrRes = new WriteResult();
+								wrRes.setOperationId(operation.getOperationId());
+								wrRes.setResult(WriteResult.Result.SUCCESS);
+								td.getResultList().add(wrRes);
+							}
+							tags.add(td);
+						}
+						return tags;
+					}
+				};
+			}
+		};
+
+		final byte[] data = new byte[] { 0x11, 0x22, 0x33, 0x44 };
+
+		/*
+		 * test: writeTag call with a single matching tag exp.: the operation is
+		 * executed with a single call without inventory, result is SUCCESS
+		 */
+		reported.add(Arrays.asList(epc));
+		AutoIdOperationStatusEnumeration wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR,
+				0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS, wr);
+		new Verifications() {
+			{
+				List<TagOperation> operations;
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class),
+						operations = withCapture());
+				times = 1;
+				assertEquals(1, operations.size());
+			}
+		};
+
+		/*
+		 * test: writeTag call without result for the full EPC exp.: result is
+		 * NO_IDENTIFIER
+		 */
+		reported.set(0, Arrays.asList("300833B2DDD9004433221101"));
+		wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR, 0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, wr);
+
+		reported.set(0, new ArrayList<String>());
+		wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR, 0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, wr);
+
+		/*
+		 * test: writeTag call with several results for the full EPC exp.: result
+		 * is MULTIPLE_IDENTIFIERS
+		 */
+		reported.set(0, Arrays.asList(epc, epc));
+		wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR, 0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.MULTIPLE_IDENTIFIERS, wr);
+
+		/*
+		 * test: writeTag call with a further tag sharing the EPC as prefix
+		 * exp.: the further tag has been written too, result is
+		 * MULTIPLE_IDENTIFIERS and the cached data of the further tag is
+		 * discarded
+		 */
+		TagReadCache cache = getField(rfr300, "tagReadCache");
+		byte[] prefixed = RFUtils.hexToBytes(epc + "1234");
+		cache.put(prefixed, RFUtils.BANK_TID, 0, 2, new byte[] { 0x01, 0x02, 0x03, 0x04 });
+		reported.set(0, Arrays.asList(epc + "1234", epc));
+		wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR, 0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.MULTIPLE_IDENTIFIERS, wr);
+		assertNull(cache.get(prefixed, RFUtils.BANK_TID, 0, 2));
+
+		reported.set(0, Arrays.asList(epc + "1234"));
+		wr = rfr300.writeTag(identifier, CodeTypeEnumeration.EPC, RFUtils.BANK_USR, 0, data, null);
+		assertEquals(AutoIdOperationStatusEnumeration.NO_IDENTIFIER, wr);
+
+		/* no inventory is run before the operations */
+		new Verifications() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class),
+						withEqual(new ArrayList<TagOperation>()));
+				times = 0;
+			}
+		};
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testWriteTag(@Mocked final WriteOperation wrOp, @Mocked final InventoryThread invThread)
@@ -2483,6 +3115,12 @@ public class AimRfidReaderDeviceTest {
 		ScanData scanData = new ScanData();
 		rfr300.lastScanDataChanged(this, null, scanData);
 		assertEquals(scanData, getField(rfr300, "lastScanData"));
+
+		/* the value is stored immediately, only the notification is delayed */
+		ScanData scanData2 = new ScanData();
+		scanData2.setString("300833B2DDD9004433221100");
+		rfr300.lastScanDataChanged(this, scanData, scanData2);
+		assertEquals(scanData2, getField(rfr300, "lastScanData"));
 	}
 
 	@Test
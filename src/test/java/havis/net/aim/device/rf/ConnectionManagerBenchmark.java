@@ -0,0 +1,91 @@
+package havis.net.aim.device.rf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares acquire/release pairs of an opened connection by 8 concurrent
+ * callers with the former synchronized implementation. Not part of the test
+ * suite, run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ConnectionManagerBenchmark {
+
+	private final ConnectionManager<Integer> manager = new ConnectionManager<Integer>() {
+		@Override
+		protected Integer open() throws Exception {
+			return 0;
+		}
+
+		@Override
+		protected void close(Integer connection) throws Exception {
+		}
+	};
+
+	private final FormerConnectionManager formerManager = new FormerConnectionManager();
+
+	@Benchmark
+	public Integer former() throws Exception {
+		Integer connection = formerManager.acquire();
+		formerManager.release(connection);
+		return connection;
+	}
+
+	@Benchmark
+	public Integer atomic() throws Exception {
+		Integer connection = manager.acquire();
+		manager.release(connection);
+		return connection;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ConnectionManagerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	/* former implementation of ConnectionManager */
+	private static class FormerConnectionManager {
+		private Integer connection = null;
+		private boolean isClosing = false;
+		private int count = 0;
+
+		public synchronized Integer acquire() throws Exception {
+			if (connection == null) {
+				connection = 0;
+			}
+			count++;
+			return connection;
+		}
+
+		public synchronized void release(Integer connection) throws Exception {
+			if (connection != this.connection) {
+				return;
+			}
+			if (count > 0) {
+				count--;
+			}
+			if (count == 0 && isClosing) {
+				this.connection = null;
+				isClosing = false;
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package havis.net.aim.device.rf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EpcMapTest {
+
+	@Test
+	public void putGet() {
+		EpcMap<String> map = new EpcMap<>();
+		byte[] epc1 = new byte[] { 0x30, 0x00, 0x01 };
+		byte[] epc2 = new byte[] { 0x30, 0x00, 0x02 };
+
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(epc1));
+
+		map.put(epc1, EpcMap.hash(epc1), "a");
+		map.put(epc2, EpcMap.hash(epc2), "b");
+		Assert.assertEquals(2, map.size());
+
+		// lookup with an equal but different array instance
+		byte[] epc = new byte[] { 0x30, 0x00, 0x01 };
+		Assert.assertEquals("a", map.get(epc));
+		Assert.assertTrue(map.containsKey(epc, EpcMap.hash(epc)));
+		Assert.assertEquals("b", map.get(epc2, EpcMap.hash(epc2)));
+
+		// replace existing value
+		map.put(epc, EpcMap.hash(epc), "c");
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals("c", map.get(epc1));
+		Assert.assertSame(epc1, map.keyAt(0));
+		Assert.assertEquals("c", map.valueAt(0));
+		Assert.assertEquals("b", map.valueAt(1));
+	}
+
+	@Test
+	public void grow() {
+		EpcMap<Integer> map = new EpcMap<>(4);
+		for (int i = 0; i < 1000; i++) {
+			byte[] epc = new byte[] { 0x30, (byte) (i >> 8), (byte) i };
+			map.put(epc, EpcMap.hash(epc), i);
+		}
+		Assert.assertEquals(1000, map.size());
+		for (int i = 0; i < 1000; i++) {
+			// insertion order is kept
+			Assert.assertEquals(i, map.valueAt(i).intValue());
+			Assert.assertEquals(i, map.get(new byte[] { 0x30, (byte) (i >> 8), (byte) i }).intValue());
+		}
+	}
+
+	@Test
+	public void clear() {
+		EpcMap<String> map = new EpcMap<>();
+		byte[] epc = new byte[] { 0x30, 0x00, 0x01 };
+		map.put(epc, EpcMap.hash(epc), "a");
+		map.clear();
+		Assert.assertEquals(0, map.size());
+		Assert.assertNull(map.get(epc));
+		Assert.assertFalse(map.containsKey(epc, EpcMap.hash(epc)));
+
+		map.put(epc, EpcMap.hash(epc), "b");
+		Assert.assertEquals("b", map.get(epc));
+	}
+}
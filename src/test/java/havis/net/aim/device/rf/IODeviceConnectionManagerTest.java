@@ -1,6 +1,7 @@
 package havis.net.aim.device.rf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -73,4 +74,45 @@ public class IODeviceConnectionManagerTest {
 			}
 		};
 	}
+
+	@Test
+	public void testIdleTimeout(@Mocked final IODevice ioDevice) throws Exception {
+		IODeviceConnectionManager m = new IODeviceConnectionManager(ioDevice);
+		m.setIdleTimeout(100);
+
+		// open the connection in advance
+		m.connect();
+		assertEquals(1, m.getOpenCount());
+		assertEquals(0, m.getCloseCount());
+
+		// the connection is reused within the idle timeout
+		Integer connection = m.acquire();
+		m.release(connection);
+		assertEquals(1, m.getOpenCount());
+
+		// the connection is closed after the idle timeout
+		Thread.sleep(300);
+		new Verifications() {
+			{
+				ioDevice.openConnection(withInstanceOf(IOConsumer.class), anyInt);
+				times = 1;
+				ioDevice.closeConnection();
+				times = 1;
+			}
+		};
+		assertEquals(1, m.getCloseCount());
+
+		// an acquired connection is not closed
+		connection = m.acquire();
+		Thread.sleep(300);
+		assertEquals(2, m.getOpenCount());
+		assertEquals(1, m.getCloseCount());
+
+		// disconnect after the release
+		m.disconnect();
+		assertEquals(1, m.getCloseCount());
+		m.release(connection);
+		assertEquals(2, m.getCloseCount());
+		assertTrue(m.getWaitTime() > 0);
+	}
 }
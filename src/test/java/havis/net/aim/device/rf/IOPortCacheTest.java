@@ -0,0 +1,84 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.device.io.Configuration;
+import havis.device.io.Direction;
+import havis.device.io.IOConfiguration;
+import havis.device.io.State;
+
+public class IOPortCacheTest {
+
+	private final List<Short> changedPorts = new ArrayList<>();
+	private final List<State> changedStates = new ArrayList<>();
+
+	private final IOPortCache cache = new IOPortCache(new IOPortCache.StateChangeListener() {
+		@Override
+		public void stateChanged(short port, State state) {
+			changedPorts.add(port);
+			changedStates.add(state);
+		}
+	});
+
+	@Test
+	public void prime() {
+		// not primed
+		Assert.assertFalse(cache.isValid());
+		Assert.assertNull(cache.getState((short) 1));
+		cache.update(configuration(1, Direction.INPUT, State.LOW));
+		Assert.assertNull(cache.getState((short) 1));
+
+		cache.prime(Arrays.<Configuration> asList(configuration(1, Direction.INPUT, State.LOW),
+				configuration(2, Direction.OUTPUT, State.HIGH)));
+		Assert.assertTrue(cache.isValid());
+		Assert.assertEquals(State.LOW, cache.getState((short) 1));
+		Assert.assertEquals(Direction.INPUT, cache.getDirection((short) 1));
+		Assert.assertEquals(State.HIGH, cache.getState((short) 2));
+		Assert.assertEquals(Direction.OUTPUT, cache.getDirection((short) 2));
+		Assert.assertNull(cache.getState((short) 3));
+
+		cache.update(configuration(2, Direction.INPUT, State.LOW));
+		Assert.assertEquals(State.LOW, cache.getState((short) 2));
+		Assert.assertEquals(Direction.INPUT, cache.getDirection((short) 2));
+		Assert.assertTrue(changedPorts.isEmpty());
+
+		cache.invalidate();
+		Assert.assertFalse(cache.isValid());
+		Assert.assertNull(cache.getState((short) 1));
+		Assert.assertNull(cache.getDirection((short) 1));
+	}
+
+	@Test
+	public void stateChanged() {
+		// ignored while not primed
+		cache.stateChanged((short) 1, State.HIGH);
+		Assert.assertTrue(changedPorts.isEmpty());
+
+		cache.prime(Arrays.<Configuration> asList(configuration(1, Direction.INPUT, State.LOW)));
+
+		// edge
+		cache.stateChanged((short) 1, State.HIGH);
+		Assert.assertEquals(State.HIGH, cache.getState((short) 1));
+		Assert.assertEquals(Arrays.asList((short) 1), changedPorts);
+		Assert.assertEquals(Arrays.asList(State.HIGH), changedStates);
+
+		// unchanged state and unknown port
+		cache.stateChanged((short) 1, State.HIGH);
+		cache.stateChanged((short) 2, State.HIGH);
+		Assert.assertEquals(1, changedPorts.size());
+		Assert.assertNull(cache.getState((short) 2));
+	}
+
+	private IOConfiguration configuration(int port, Direction direction, State state) {
+		IOConfiguration conf = new IOConfiguration();
+		conf.setId((short) port);
+		conf.setDirection(direction);
+		conf.setState(state);
+		return conf;
+	}
+}
@@ -1,6 +1,7 @@
 package havis.net.aim.device.rf;
 
 import static mockit.Deencapsulation.getField;
+import static mockit.Deencapsulation.invoke;
 import static mockit.Deencapsulation.setField;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -12,8 +13,11 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -36,7 +40,9 @@ import havis.device.rf.exception.ImplementationException;
 import havis.device.rf.exception.ParameterException;
 import havis.device.rf.tag.Filter;
 import havis.device.rf.tag.TagData;
+import havis.device.rf.tag.operation.ReadOperation;
 import havis.device.rf.tag.operation.TagOperation;
+import havis.device.rf.tag.result.ReadResult;
 import havis.net.aim.opcua.Constants.EventType;
 import havis.net.aim.opcua.Environment;
 import havis.net.aim.opcua.LastScanDataChangeListener;
@@ -60,6 +66,9 @@ public class InventoryThreadTest {
 	@Mocked
 	RfidDeviceEventListener scanEventListener;
 
+	/* counted down when the events of the current async scan have been delivered */
+	private CountDownLatch scanFinished;
+
 	@Test
 	public void testInventoryThread() {
 		InventoryThread it = new InventoryThread(rfDevice);
@@ -149,15 +158,13 @@ public class InventoryThreadTest {
 		scs.setDataAvailable(false);
 		scs.setDuration(0);
 
-		Lock scanLock = new ReentrantLock();
-		scanLock.lock();
-
 		List<Short> antennas = new ArrayList<>();
 		antennas.add((short) 0);
+		long start = System.nanoTime();
 		List<RfidScanResult> lastScanResults = new ArrayList<>(
-				it.startInventory(scs, scanLock, antennas, scanDataListener));
-		scanLock.unlock();
+				it.startInventory(scs, antennas, scanDataListener));
 
+		assertTrue(it.getFirstReadTime() - start > 0);
 		assertEquals(2, lastScanResults.size());
 		RfidScanResult scanResult1 = lastScanResults.get(0);
 		RfidScanResult scanResult2 = lastScanResults.get(1);
@@ -183,9 +190,7 @@ public class InventoryThreadTest {
 		long now = new Date().getTime();
 		long soon = now + (long) scs.getDuration() + 100;
 
-		scanLock.lock();
-		lastScanResults = new ArrayList<>(it.startInventory(scs, scanLock, antennas, scanDataListener));
-		scanLock.unlock();
+		lastScanResults = new ArrayList<>(it.startInventory(scs, antennas, scanDataListener));
 
 		assertEquals(2, lastScanResults.size());
 		scanResult1 = lastScanResults.get(0);
@@ -211,9 +216,7 @@ public class InventoryThreadTest {
 		scs.setDuration(0);
 		scs.setDataAvailable(true);
 
-		scanLock.lock();
-		lastScanResults = new ArrayList<>(it.startInventory(scs, scanLock, antennas, scanDataListener));
-		scanLock.unlock();
+		lastScanResults = new ArrayList<>(it.startInventory(scs, antennas, scanDataListener));
 
 		assertEquals(2, lastScanResults.size());
 		scanResult1 = lastScanResults.get(0);
@@ -330,9 +333,9 @@ public class InventoryThreadTest {
 				Map<String, Object> eventArgs = null;
 				scanEventListener.rfidEventOccured(any, EventType.RFID_SCAN_EVENT, withInstanceOf(Date.class),
 						eventArgs = withCapture());
-				times = 4; // 2x after first RF execute + 2x at end of inventory
+				times = 2; // 2x at end of inventory (cycles finish within the event interval)
 				RfidScanResult scanRes = (RfidScanResult) eventArgs.get("#6042");
-				assertEquals(9, scanRes.getSightings().size());
+				assertEquals(10, scanRes.getSightings().size());
 				String epc = RFUtils.bytesToHex(scanRes.getScanData().getEpc().getUid());
 				assertTrue(epc.equals(epc1) || epc.equals(epc2));
 			}
@@ -354,7 +357,7 @@ public class InventoryThreadTest {
 				Map<String, Object> eventArgs = null;
 				scanEventListener.rfidEventOccured(any, EventType.RFID_SCAN_EVENT, withInstanceOf(Date.class),
 						eventArgs = withCapture());
-				times = 5; // 1x
+				times = 3; // 1x
 				RfidScanResult scanRes = (RfidScanResult) eventArgs.get("#6042");
 				String epc = RFUtils.bytesToHex(scanRes.getScanData().getEpc().getUid());
 				assertEquals(epc1, epc);
@@ -376,7 +379,7 @@ public class InventoryThreadTest {
 				Map<String, Object> eventArgs = null;
 				scanEventListener.rfidEventOccured(withInstanceOf(InventoryThread.class), EventType.RFID_SCAN_EVENT,
 						withInstanceOf(Date.class), eventArgs = withCapture());
-				times = 6; // 1x
+				times = 4; // 1x
 				RfidScanResult scanRes = (RfidScanResult) eventArgs
 						.get(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT);
 				String epc = RFUtils.bytesToHex(scanRes.getScanData().getEpc().getUid());
@@ -394,8 +397,24 @@ public class InventoryThreadTest {
 
 	private boolean startAndWait(InventoryThread it, ScanSettings scanSettings, List<Short> antennas)
 			throws ConnectionException, ImplementationException, InterruptedException {
+		// the events are passed to the mocked listener, the end of the scan is signaled
+		final CountDownLatch finished = new CountDownLatch(1);
+		scanFinished = finished;
+		RfidDeviceEventListener listener = new RfidDeviceEventListener() {
+			@Override
+			public void rfidEventOccured(Object source, EventType event, Date timeStamp,
+					Map<String, Object> eventArgs) {
+				scanEventListener.rfidEventOccured(source, event, timeStamp, eventArgs);
+			}
+
+			@Override
+			public void scanAsyncFinished(Object source) {
+				scanEventListener.scanAsyncFinished(source);
+				finished.countDown();
+			}
+		};
 		synchronized (it) {
-			it.startInventoryAsync(scanSettings, antennas, scanDataListener, scanEventListener);
+			it.startInventoryAsync(scanSettings, antennas, scanDataListener, listener);
 			int retry = 0;
 			for (retry = 0; retry < 5; retry++) {
 				if ((boolean) getField(it, "running"))
@@ -416,35 +435,23 @@ public class InventoryThreadTest {
 					break;
 				Thread.sleep(50);
 			}
+			// wait for the dispatcher to deliver the remaining events
+			if (!scanFinished.await(1, TimeUnit.SECONDS))
+				return false;
 		}
 		return !(boolean) getField(it, "running");
 	}
 
 	@SuppressWarnings("unchecked")
 	@Test
-	public void testSuspendResumeInventory() throws ParameterException, CommunicationException, ImplementationException,
-			ConnectionException, InterruptedException {
-
-		final String epc1 = "300833B2DDD9004433221101";
-		final String epc2 = "300833B2DDD9004433221102";
-
-		TagData td1 = new TagData();
-		td1.setAntennaID((short) 1);
-		td1.setCrc((short) 1234);
-		td1.setEpc(RFUtils.hexToBytes(epc1));
-		td1.setPc((short) 3400);
-		td1.setRssi(-64);
-
-		TagData td2 = new TagData();
-		td2.setAntennaID((short) 1);
-		td2.setCrc((short) 0x8000); // ushort value
-		td2.setEpc(RFUtils.hexToBytes(epc2));
-		td2.setPc((short) 0x8001); // ushort value
-		td2.setRssi(-64);
-
+	public void testAccess() throws Exception {
+		TagData td = new TagData();
+		td.setAntennaID((short) 1);
+		td.setEpc(RFUtils.hexToBytes("300833B2DDD9004433221101"));
+		td.setPc((short) 3400);
+		td.setRssi(-64);
 		final List<TagData> tags = new ArrayList<>();
-		tags.add(td1);
-		tags.add(td2);
+		tags.add(td);
 
 		RegulatoryCapabilities regCaps = new RegulatoryCapabilities();
 		final List<Capabilities> capabilities = new ArrayList<>();
@@ -455,28 +462,16 @@ public class InventoryThreadTest {
 		regCaps.setTransmitPowerTable(new TransmitPowerTable());
 		regCaps.getTransmitPowerTable().getEntryList().add(e);
 
-		AntennaConfiguration aCfg = new AntennaConfiguration();
-		aCfg.setConnect(ConnectType.TRUE);
-		aCfg.setId((short) 1);
-		aCfg.setTransmitPower((short) 1);
-		final List<AntennaConfiguration> antennaConfigurations = new ArrayList<>();
-		antennaConfigurations.add(aCfg);
-
 		new NonStrictExpectations() {
 			{
 				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
 				result = new Delegate<RFDevice>() {
 					@SuppressWarnings("unused")
-					List<TagData> execute(List<Short> a, List<Filter> b, List<TagOperation> c) {
-						synchronized (tags) {
-							// slow down the execution
-							try {
-								Thread.sleep(10);
-							} catch (InterruptedException e) {
-								e.printStackTrace();
-							}
-							return tags;
-						}
+					List<TagData> execute(List<Short> a, List<Filter> b, List<TagOperation> c)
+							throws InterruptedException {
+						// slow down the execution
+						Thread.sleep(10);
+						return tags;
 					}
 				};
 
@@ -484,58 +479,264 @@ public class InventoryThreadTest {
 				result = capabilities;
 
 				rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0, (short) 0, (short) 0);
-				result = antennaConfigurations;
+				result = new ArrayList<AntennaConfiguration>();
 			}
 		};
 
 		final ScanSettings scs = new ScanSettings();
-		scs.setCycles(100);
+		scs.setCycles(50);
 		scs.setDuration(0.0);
 		scs.setDataAvailable(false);
 
 		final InventoryThread it = new InventoryThread(rfDevice);
-
 		final List<Short> antennas = new ArrayList<>();
 		antennas.add((short) 0);
-		final Lock scanLock = new ReentrantLock();
 
 		Thread inventoryWorker = new Thread(new Runnable() {
-
 			@Override
 			public void run() {
 				try {
-					scanLock.lock();
-					it.startInventory(scs, scanLock, antennas, scanDataListener);
-					scanLock.unlock();
+					it.startInventory(scs, antennas, scanDataListener);
 				} catch (ConnectionException | ImplementationException e) {
 					Assert.fail(e.getMessage());
 				}
 			}
-
 		}, "inventoryWorker");
+		inventoryWorker.start();
+		for (int retry = 0; retry < 5 && (int) getField(it, "cycles") == 0; retry++)
+			Thread.sleep(100);
 
-		synchronized (it) {
-			inventoryWorker.start();
-			int retry = 0;
-			for (retry = 0; retry < 5; retry++) {
-				if ((boolean) getField(it, "running"))
-					break;
-				Thread.sleep(100);
+		// the access is run by the inventory between two cycles
+		final List<Integer> cycles = new ArrayList<>();
+		assertEquals("done", it.access(new Callable<String>() {
+			@Override
+			public String call() {
+				cycles.add((int) getField(it, "cycles"));
+				return "done";
 			}
+		}));
+		assertTrue(cycles.get(0) > 0);
+
+		// the inventory has been continued
+		inventoryWorker.join();
+		assertEquals(scs.getCycles(), (int) getField(it, "cycles"));
+
+		// no access after the inventory has finished
+		try {
+			it.access(new Callable<String>() {
+				@Override
+				public String call() {
+					return "done";
+				}
+			});
+			Assert.fail();
+		} catch (RejectedExecutionException ex) {
 		}
-		assertTrue((boolean) getField(it, "running"));
-
-		it.suspendInventory();
-		int cyclesAfterSuspend = getField(it, "cycles");
-		Thread.sleep(100);
-		int cyclesAfterWait = getField(it, "cycles");
-		assertTrue(cyclesAfterSuspend == cyclesAfterWait);
-		it.resumeInventory();
-		int cyclesAfterResume = getField(it, "cycles");
-		Thread.sleep(100);
-		cyclesAfterWait = getField(it, "cycles");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testAccessTimeout() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+
+		RegulatoryCapabilities regCaps = new RegulatoryCapabilities();
+		final List<Capabilities> capabilities = new ArrayList<>();
+		capabilities.add(regCaps);
+		regCaps.setTransmitPowerTable(new TransmitPowerTable());
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> a, List<Filter> b, List<TagOperation> c)
+							throws InterruptedException {
+						// the cycle hangs until it is released
+						release.await();
+						return new ArrayList<TagData>();
+					}
+				};
+
+				rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+				result = capabilities;
+
+				rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0, (short) 0, (short) 0);
+				result = new ArrayList<AntennaConfiguration>();
+			}
+		};
+
+		final ScanSettings scs = new ScanSettings();
+		scs.setCycles(1);
+		scs.setDuration(0.0);
+		scs.setDataAvailable(false);
+
+		final InventoryThread it = new InventoryThread(rfDevice);
+		final List<Short> antennas = new ArrayList<>();
+		antennas.add((short) 0);
+
+		Thread inventoryWorker = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					it.startInventory(scs, antennas, scanDataListener);
+				} catch (ConnectionException | ImplementationException e) {
+					Assert.fail(e.getMessage());
+				}
+			}
+		}, "inventoryWorker");
+		inventoryWorker.start();
+		for (int retry = 0; retry < 5 && !(boolean) getField(it, "streaming"); retry++)
+			Thread.sleep(100);
+
+		// the access is dropped if the cycle does not finish in time
+		final List<String> accesses = new ArrayList<>();
+		try {
+			it.access(new Callable<String>() {
+				@Override
+				public String call() {
+					accesses.add("done");
+					return "done";
+				}
+			});
+			Assert.fail();
+		} catch (TimeoutException ex) {
+		}
+
+		release.countDown();
 		inventoryWorker.join();
-		assertTrue(cyclesAfterResume < cyclesAfterWait);
+		assertTrue(accesses.isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testTagReported() throws Exception {
+		TagData td = new TagData();
+		td.setAntennaID((short) 1);
+		td.setEpc(RFUtils.hexToBytes("300833B2DDD9004433221101"));
+		td.setPc((short) 3400);
+		td.setRssi(-64);
+		final List<TagData> tags = new ArrayList<>();
+		tags.add(td);
+
+		RegulatoryCapabilities regCaps = new RegulatoryCapabilities();
+		final List<Capabilities> capabilities = new ArrayList<>();
+		capabilities.add(regCaps);
+		regCaps.setTransmitPowerTable(new TransmitPowerTable());
+
+		final InventoryThread it = new InventoryThread(rfDevice);
+		final List<Integer> processed = new ArrayList<>();
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> a, List<Filter> b, List<TagOperation> c) {
+						// report the tags during the cycle
+						for (TagData tag : tags)
+							it.tagReported(tag);
+						processed.add(it.tagProcessor.getCurrentScanResultMap().size());
+						return tags;
+					}
+				};
+
+				rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+				result = capabilities;
+
+				rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0, (short) 0, (short) 0);
+				result = new ArrayList<AntennaConfiguration>();
+			}
+		};
+
+		ScanSettings scs = new ScanSettings();
+		scs.setCycles(3);
+		scs.setDuration(0);
+		scs.setDataAvailable(false);
+
+		List<Short> antennas = new ArrayList<>();
+		antennas.add((short) 0);
+		List<RfidScanResult> results = new ArrayList<>(it.startInventory(scs, antennas, scanDataListener));
+
+		// the tag has been processed before the end of the first cycle
+		assertEquals(1, (int) processed.get(0));
+		assertTrue(it.getFirstReadTime() != 0);
+
+		// the returned tags have not been processed again
+		assertEquals(1, results.size());
+		assertEquals(scs.getCycles(), results.get(0).getSightings().size());
+	}
+
+	@Test
+	public void testTagReportedRead() throws Exception {
+		final byte[] epc = RFUtils.hexToBytes("300833B2DDD9004433221101");
+		final byte[] tid = RFUtils.hexToBytes("E2801130");
+
+		RegulatoryCapabilities regCaps = new RegulatoryCapabilities();
+		final List<Capabilities> capabilities = new ArrayList<>();
+		capabilities.add(regCaps);
+		regCaps.setTransmitPowerTable(new TransmitPowerTable());
+
+		final InventoryThread it = new InventoryThread(rfDevice);
+		final List<TagOperation> readOperations = new ArrayList<>();
+		readOperations.add(new ReadOperation());
+		setField(it, "readOperations", readOperations);
+		final List<List<TagOperation>> requested = new ArrayList<>();
+
+		new NonStrictExpectations() {
+			{
+				rfDevice.execute(withInstanceOf(List.class), withInstanceOf(List.class), withInstanceOf(List.class));
+				result = new Delegate<RFDevice>() {
+					@SuppressWarnings("unused")
+					List<TagData> execute(List<Short> a, List<Filter> b, List<TagOperation> c) {
+						TagData td = new TagData();
+						td.setAntennaID((short) 1);
+						td.setEpc(epc);
+						td.setPc((short) 3400);
+						td.setRssi(-64);
+						// report the tag and execute the requested operations
+						List<TagOperation> operations = it.tagReported(td);
+						requested.add(operations);
+						// the result is not sent before the read data has been taken
+						invoke(it, "flush", it.tagProcessor, false);
+						assertEquals(1, it.tagProcessor.getCurrentScanResultMap().size());
+						if (operations != null) {
+							ReadResult rdRes = new ReadResult();
+							rdRes.setOperationId("");
+							rdRes.setResult(ReadResult.Result.SUCCESS);
+							rdRes.setReadData(tid);
+							td.getResultList().add(rdRes);
+						}
+						return Arrays.asList(td);
+					}
+				};
+
+				rfDevice.getCapabilities(CapabilityType.REGULATORY_CAPABILITIES);
+				result = capabilities;
+
+				rfDevice.getConfiguration(ConfigurationType.ANTENNA_CONFIGURATION, (short) 0, (short) 0, (short) 0);
+				result = new ArrayList<AntennaConfiguration>();
+			}
+		};
+
+		ScanSettings scs = new ScanSettings();
+		scs.setCycles(3);
+		scs.setDuration(0);
+		scs.setDataAvailable(false);
+
+		List<Short> antennas = new ArrayList<>();
+		antennas.add((short) 0);
+		List<RfidScanResult> results = new ArrayList<>(it.startInventory(scs, antennas, scanDataListener));
+
+		// the tag is only read once
+		assertEquals(scs.getCycles(), requested.size());
+		assertEquals(readOperations, requested.get(0));
+		assertNull(requested.get(1));
+		assertNull(requested.get(2));
+
+		// the read data is kept by the result
+		assertEquals(1, results.size());
+		assertEquals(scs.getCycles(), results.get(0).getSightings().size());
+		Assert.assertArrayEquals(tid, results.get(0).getReadData());
 	}
 
 	@Test
@@ -0,0 +1,75 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.net.aim.opcua.LastScanDataChangeListener;
+import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.ScanDataEpc;
+
+public class LastScanDataPublisherTest {
+
+	private final List<ScanData> published = Collections.synchronizedList(new ArrayList<ScanData>());
+
+	private final LastScanDataChangeListener listener = new LastScanDataChangeListener() {
+		@Override
+		public void lastScanDataChanged(Object source, ScanData oldScanData, ScanData newScanData) {
+			published.add(newScanData);
+		}
+	};
+
+	@Test
+	public void deltaOnly() {
+		LastScanDataPublisher publisher = new LastScanDataPublisher(listener, 0);
+		publisher.lastScanDataChanged(this, null, scanData(1, 0x3000));
+		publisher.lastScanDataChanged(this, null, scanData(1, 0x3000));
+		publisher.lastScanDataChanged(this, null, scanData(1, 0x3400));
+		publisher.lastScanDataChanged(this, null, scanData(2, 0x3400));
+		publisher.lastScanDataChanged(this, null, scanData(2, 0x3400));
+		publisher.lastScanDataChanged(this, null, null);
+		publisher.lastScanDataChanged(this, null, null);
+
+		Assert.assertEquals(4, published.size());
+		Assert.assertEquals(0x3400, published.get(1).getEpc().getPc());
+		Assert.assertEquals(2, published.get(2).getEpc().getUid()[0]);
+		Assert.assertNull(published.get(3));
+	}
+
+	@Test
+	public void interval() throws InterruptedException {
+		LastScanDataPublisher publisher = new LastScanDataPublisher(listener, 200);
+		publisher.lastScanDataChanged(this, null, scanData(1, 0x3000));
+		Assert.assertEquals(1, published.size());
+
+		// reverted within the interval
+		publisher.lastScanDataChanged(this, null, scanData(2, 0x3000));
+		publisher.lastScanDataChanged(this, null, scanData(1, 0x3000));
+		Thread.sleep(400);
+		Assert.assertEquals(1, published.size());
+
+		// published immediately after the interval
+		publisher.lastScanDataChanged(this, null, scanData(2, 0x3000));
+		Assert.assertEquals(2, published.size());
+
+		// coalesced within the interval, the latest change is published
+		publisher.lastScanDataChanged(this, null, scanData(3, 0x3000));
+		publisher.lastScanDataChanged(this, null, scanData(4, 0x3000));
+		Assert.assertEquals(2, published.size());
+		Thread.sleep(400);
+		Assert.assertEquals(3, published.size());
+		Assert.assertEquals(4, published.get(2).getEpc().getUid()[0]);
+	}
+
+	private ScanData scanData(int id, int pc) {
+		ScanDataEpc epc = new ScanDataEpc();
+		epc.setPc(pc);
+		epc.setUid(new byte[] { (byte) id, 0x01 });
+		ScanData scanData = new ScanData();
+		scanData.setEpc(epc);
+		return scanData;
+	}
+}
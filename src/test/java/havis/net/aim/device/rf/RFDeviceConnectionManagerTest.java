@@ -1,11 +1,19 @@
 package havis.net.aim.device.rf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import havis.device.rf.RFConsumer;
 import havis.device.rf.RFDevice;
+import havis.device.rf.tag.TagData;
+import havis.device.rf.tag.operation.ReadOperation;
+import havis.device.rf.tag.operation.TagOperation;
 import mockit.Mocked;
 import mockit.Verifications;
 
@@ -73,4 +81,33 @@ public class RFDeviceConnectionManagerTest {
 			}
 		};
 	}
+
+	@Test
+	public void testGetOperations(@Mocked final RFDevice rfDevice) throws Exception {
+		RFDeviceConnectionManager m = new RFDeviceConnectionManager(rfDevice);
+		TagData tag = new TagData();
+
+		// no listener
+		assertNull(m.getOperations(tag));
+
+		// the tag is passed to the listener, the operations of the listener
+		// are returned
+		final List<TagData> tags = new ArrayList<>();
+		final List<TagOperation> operations = new ArrayList<>();
+		operations.add(new ReadOperation());
+		m.setTagListener(new RFDeviceConnectionManager.TagListener() {
+			@Override
+			public List<TagOperation> tagReported(TagData tag) {
+				tags.add(tag);
+				return operations;
+			}
+		});
+		assertSame(operations, m.getOperations(tag));
+		assertEquals(1, tags.size());
+		assertSame(tag, tags.get(0));
+
+		m.setTagListener(null);
+		m.getOperations(tag);
+		assertEquals(1, tags.size());
+	}
 }
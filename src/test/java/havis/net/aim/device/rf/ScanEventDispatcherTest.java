@@ -0,0 +1,162 @@
+package havis.net.aim.device.rf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.net.aim.opcua.Constants.EventType;
+import havis.net.aim.opcua.Environment;
+import havis.net.aim.opcua.OverflowPolicy;
+import havis.net.aim.opcua.RfidDeviceEventListener;
+import havis.net.aim.xsd.RfidScanResult;
+import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.ScanDataEpc;
+
+public class ScanEventDispatcherTest {
+
+	private static class Listener implements RfidDeviceEventListener {
+		final List<RfidScanResult> results = Collections.synchronizedList(new ArrayList<RfidScanResult>());
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release;
+		volatile boolean finished;
+
+		Listener(boolean blocked) {
+			release = new CountDownLatch(blocked ? 1 : 0);
+		}
+
+		@Override
+		public void rfidEventOccured(Object source, EventType event, Date timeStamp, Map<String, Object> eventArgs) {
+			Assert.assertFalse(finished);
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+			}
+			results.add((RfidScanResult) eventArgs.get(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT));
+		}
+
+		@Override
+		public void scanAsyncFinished(Object source) {
+			finished = true;
+		}
+	}
+
+	@Test
+	public void dispatch() {
+		Listener listener = new Listener(false);
+		ScanEventDispatcher dispatcher = new ScanEventDispatcher(listener, 4, OverflowPolicy.BLOCK);
+		dispatcher.start();
+		for (int i = 0; i < 100; i++)
+			fire(dispatcher, (byte) i);
+		dispatcher.scanAsyncFinished(this);
+
+		Assert.assertTrue(listener.finished);
+		Assert.assertEquals(100, listener.results.size());
+		for (int i = 0; i < 100; i++)
+			Assert.assertEquals((byte) i, listener.results.get(i).getScanData().getEpc().getUid()[0]);
+		Assert.assertEquals(0, dispatcher.getDroppedCount());
+		Assert.assertEquals(0, dispatcher.getCoalescedCount());
+	}
+
+	@Test
+	public void dropOldest() throws InterruptedException {
+		Listener listener = new Listener(true);
+		ScanEventDispatcher dispatcher = new ScanEventDispatcher(listener, 4, OverflowPolicy.DROP_OLDEST);
+		dispatcher.start();
+		fire(dispatcher, (byte) 0);
+		Assert.assertTrue(listener.entered.await(1, TimeUnit.SECONDS));
+		for (int i = 1; i < 10; i++)
+			fire(dispatcher, (byte) i);
+		listener.release.countDown();
+		dispatcher.scanAsyncFinished(this);
+
+		Assert.assertEquals(5, dispatcher.getDroppedCount());
+		Assert.assertEquals(5, listener.results.size());
+		Assert.assertEquals(0, listener.results.get(0).getScanData().getEpc().getUid()[0]);
+		for (int i = 1; i < 5; i++)
+			Assert.assertEquals(i + 5, listener.results.get(i).getScanData().getEpc().getUid()[0]);
+	}
+
+	@Test
+	public void coalesce() throws InterruptedException {
+		Listener listener = new Listener(true);
+		ScanEventDispatcher dispatcher = new ScanEventDispatcher(listener, 4, OverflowPolicy.COALESCE);
+		dispatcher.start();
+		fire(dispatcher, (byte) 0);
+		Assert.assertTrue(listener.entered.await(1, TimeUnit.SECONDS));
+		// fill the buffer
+		for (int i = 1; i < 5; i++)
+			fire(dispatcher, (byte) i);
+		// wait for space, same EPCs are merged
+		RfidScanResult first = fire(dispatcher, (byte) 10);
+		fire(dispatcher, (byte) 11);
+		fire(dispatcher, (byte) 10);
+		fire(dispatcher, (byte) 10);
+		fire(dispatcher, (byte) 11);
+		listener.release.countDown();
+		dispatcher.scanAsyncFinished(this);
+
+		Assert.assertEquals(0, dispatcher.getDroppedCount());
+		Assert.assertEquals(3, dispatcher.getCoalescedCount());
+		Assert.assertEquals(7, listener.results.size());
+		for (int i = 0; i < 5; i++)
+			Assert.assertEquals(i, listener.results.get(i).getScanData().getEpc().getUid()[0]);
+		Assert.assertEquals(10, listener.results.get(5).getScanData().getEpc().getUid()[0]);
+		Assert.assertEquals(3, listener.results.get(5).getSightings().size());
+		Assert.assertEquals(11, listener.results.get(6).getScanData().getEpc().getUid()[0]);
+		Assert.assertEquals(2, listener.results.get(6).getSightings().size());
+		// merged into a copy, the fired result is unchanged
+		Assert.assertNotSame(first, listener.results.get(5));
+		Assert.assertEquals(1, first.getSightings().size());
+	}
+
+	@Test
+	public void coalesceOverflow() throws InterruptedException {
+		Listener listener = new Listener(true);
+		ScanEventDispatcher dispatcher = new ScanEventDispatcher(listener, 4, OverflowPolicy.COALESCE);
+		dispatcher.start();
+		fire(dispatcher, (byte) 0);
+		Assert.assertTrue(listener.entered.await(1, TimeUnit.SECONDS));
+		// fill the buffer
+		for (int i = 1; i < 5; i++)
+			fire(dispatcher, (byte) i);
+		// at most 4 events are waiting for space
+		for (int i = 10; i < 16; i++)
+			fire(dispatcher, (byte) i);
+		// still merged into a waiting event
+		fire(dispatcher, (byte) 10);
+		listener.release.countDown();
+		dispatcher.scanAsyncFinished(this);
+
+		Assert.assertEquals(2, dispatcher.getDroppedCount());
+		Assert.assertEquals(1, dispatcher.getCoalescedCount());
+		Assert.assertEquals(9, listener.results.size());
+		for (int i = 5; i < 9; i++)
+			Assert.assertEquals(i + 5, listener.results.get(i).getScanData().getEpc().getUid()[0]);
+		Assert.assertEquals(2, listener.results.get(5).getSightings().size());
+	}
+
+	private RfidScanResult fire(ScanEventDispatcher dispatcher, byte id) {
+		SightingBuffer buffer = new SightingBuffer();
+		buffer.add((short) 1, -50, 1000L, (short) 100);
+		RfidScanResult result = new BufferedRfidScanResult(buffer);
+		ScanDataEpc epc = new ScanDataEpc();
+		epc.setUid(new byte[] { id, 0x01 });
+		ScanData scanData = new ScanData();
+		scanData.setEpc(epc);
+		result.setScanData(scanData);
+
+		Map<String, Object> eventArgs = new HashMap<>();
+		eventArgs.put(Environment.EVENT_RFID_SCAN_EVENT_PARAM_SCAN_RESULT, result);
+		dispatcher.rfidEventOccured(this, EventType.RFID_SCAN_EVENT, new Date(), eventArgs);
+		return result;
+	}
+}
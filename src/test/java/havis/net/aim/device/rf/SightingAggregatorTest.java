@@ -0,0 +1,73 @@
+package havis.net.aim.device.rf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.net.aim.xsd.CodeTypeEnumeration;
+import havis.net.aim.xsd.RfidScanResult;
+import havis.net.aim.xsd.RfidSighting;
+import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.SightingAggregation;
+
+public class SightingAggregatorTest {
+
+	private BufferedRfidScanResult createResult() {
+		SightingBuffer buffer = new SightingBuffer();
+		buffer.add((short) 1, -50, 1000L, (short) 100);
+		buffer.add((short) 2, -70, 1500L, (short) 200);
+		buffer.add((short) 1, -60, 2000L, (short) 100);
+		buffer.add((short) 1, -41, 3000L, (short) 150);
+		BufferedRfidScanResult result = new BufferedRfidScanResult(buffer);
+		result.setCodeType(CodeTypeEnumeration.EPC);
+		result.setScanData(new ScanData());
+		result.setTimeStamp(1000L);
+		result.setReadData(new byte[] { (byte) 0xE2, (byte) 0x80 });
+		return result;
+	}
+
+	@Test
+	public void aggregateNone() {
+		RfidScanResult result = createResult();
+		Assert.assertSame(result, SightingAggregator.aggregate(result, SightingAggregation.NONE));
+		Assert.assertSame(result, SightingAggregator.aggregate(result, null));
+	}
+
+	@Test
+	public void aggregateAntenna() {
+		BufferedRfidScanResult result = createResult();
+		RfidScanResult aggregated = SightingAggregator.aggregate(result, SightingAggregation.ANTENNA);
+		// the sightings of the result are not converted to a list
+		Assert.assertTrue(result.isBuffered());
+		assertAggregated(result, aggregated);
+
+		// aggregate from sighting list
+		result.getSightings();
+		Assert.assertFalse(result.isBuffered());
+		assertAggregated(result, SightingAggregator.aggregate(result, SightingAggregation.ANTENNA));
+	}
+
+	private void assertAggregated(RfidScanResult result, RfidScanResult aggregated) {
+		Assert.assertEquals(result.getCodeType(), aggregated.getCodeType());
+		Assert.assertSame(result.getScanData(), aggregated.getScanData());
+		Assert.assertEquals(result.getTimeStamp(), aggregated.getTimeStamp());
+		Assert.assertArrayEquals(result.getReadData(), aggregated.getReadData());
+		Assert.assertEquals(2, aggregated.getSightings().size());
+
+		RfidSighting rs = aggregated.getSightings().get(0);
+		Assert.assertEquals(1, rs.getAntennaId());
+		Assert.assertEquals(3, rs.getCount().intValue());
+		Assert.assertEquals(-50, rs.getStrength());
+		Assert.assertEquals(-60, rs.getMinStrength().intValue());
+		Assert.assertEquals(-41, rs.getMaxStrength().intValue());
+		Assert.assertEquals(1000L, rs.getFirstTimestamp().longValue());
+		Assert.assertEquals(3000L, rs.getTimestamp());
+		Assert.assertEquals(150, rs.getCurrentPowerLevel());
+
+		rs = aggregated.getSightings().get(1);
+		Assert.assertEquals(2, rs.getAntennaId());
+		Assert.assertEquals(1, rs.getCount().intValue());
+		Assert.assertEquals(-70, rs.getStrength());
+		Assert.assertEquals(1500L, rs.getFirstTimestamp().longValue());
+		Assert.assertEquals(1500L, rs.getTimestamp());
+	}
+}
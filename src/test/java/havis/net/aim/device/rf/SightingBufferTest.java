@@ -0,0 +1,73 @@
+package havis.net.aim.device.rf;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.net.aim.xsd.RfidSighting;
+
+public class SightingBufferTest {
+
+	@Test
+	public void addGrow() {
+		SightingBuffer buffer = new SightingBuffer(2);
+		for (int i = 0; i < 100; i++) {
+			buffer.add((short) (i % 4), -i, 1000L + i, (short) 50);
+		}
+		Assert.assertEquals(100, buffer.size());
+		Assert.assertEquals(3, buffer.getAntennaId(99));
+		Assert.assertEquals(-99, buffer.getStrength(99));
+		Assert.assertEquals(1099L, buffer.getTimestamp(99));
+		Assert.assertEquals(50, buffer.getCurrentPowerLevel(99));
+
+		SightingBuffer copy = buffer.copy();
+		buffer.clear();
+		Assert.assertEquals(0, buffer.size());
+		Assert.assertEquals(100, copy.size());
+		Assert.assertEquals(1050L, copy.getTimestamp(50));
+
+		buffer.addAll(copy);
+		buffer.addAll(copy);
+		Assert.assertEquals(200, buffer.size());
+		Assert.assertEquals(1099L, buffer.getTimestamp(199));
+	}
+
+	@Test
+	public void toSightings() {
+		SightingBuffer buffer = new SightingBuffer();
+		buffer.add((short) 1, -50, 1000L, (short) 100);
+		buffer.add((short) 2, -60, 2000L, (short) 200);
+
+		List<RfidSighting> sightings = buffer.toSightings();
+		Assert.assertEquals(2, sightings.size());
+		Assert.assertEquals(1, sightings.get(0).getAntennaId());
+		Assert.assertEquals(-50, sightings.get(0).getStrength());
+		Assert.assertEquals(1000L, sightings.get(0).getTimestamp());
+		Assert.assertEquals(100, sightings.get(0).getCurrentPowerLevel());
+		Assert.assertEquals(2, sightings.get(1).getAntennaId());
+		Assert.assertEquals(200, sightings.get(1).getCurrentPowerLevel());
+	}
+
+	@Test
+	public void bufferedRfidScanResult() {
+		SightingBuffer buffer = new SightingBuffer();
+		buffer.add((short) 1, -50, 1000L, (short) 100);
+		BufferedRfidScanResult result = new BufferedRfidScanResult(buffer);
+		Assert.assertEquals(1, result.getSightingCount());
+
+		SightingBuffer other = new SightingBuffer();
+		other.add((short) 2, -60, 2000L, (short) 200);
+		result.addSightings(new BufferedRfidScanResult(other));
+		Assert.assertEquals(2, result.getSightingCount());
+
+		// sightings are created once and kept
+		List<RfidSighting> sightings = result.getSightings();
+		Assert.assertEquals(2, sightings.size());
+		Assert.assertSame(sightings, result.getSightings());
+
+		result.addSightings(new BufferedRfidScanResult(other));
+		Assert.assertEquals(3, result.getSightingCount());
+		Assert.assertEquals(2, result.getSightings().get(2).getAntennaId());
+	}
+}
@@ -0,0 +1,87 @@
+package havis.net.aim.device.rf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import havis.device.rf.common.util.RFUtils;
+
+public class TagReadCacheTest {
+
+	private static final byte[] EPC1 = RFUtils.hexToBytes("300833B2DDD9004433221101");
+	private static final byte[] EPC2 = RFUtils.hexToBytes("300833B2DDD9004433221102");
+	private static final byte[] TID = RFUtils.hexToBytes("E2801130");
+
+	@Test
+	public void get() {
+		TagReadCache cache = new TagReadCache(2, 0);
+		Assert.assertTrue(cache.isEnabled());
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Assert.assertEquals(0, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+
+		cache.put(EPC1, RFUtils.BANK_TID, 0, 2, TID);
+		// EPC is compared by value
+		Assert.assertArrayEquals(TID, cache.get(EPC1.clone(), RFUtils.BANK_TID, 0, 2));
+		Assert.assertEquals(1, cache.getHitCount());
+
+		// other address range or bank
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 1, 2));
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 1));
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_USR, 0, 2));
+		Assert.assertNull(cache.get(EPC2, RFUtils.BANK_TID, 0, 2));
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(5, cache.getMissCount());
+
+		// the cached data cannot be modified by the caller
+		cache.get(EPC1, RFUtils.BANK_TID, 0, 2)[0] = 0;
+		Assert.assertArrayEquals(TID, cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+	}
+
+	@Test
+	public void capacity() {
+		TagReadCache cache = new TagReadCache(2, 0);
+		cache.put(EPC1, RFUtils.BANK_TID, 0, 2, TID);
+		cache.put(EPC2, RFUtils.BANK_TID, 0, 2, TID);
+		// EPC1 is used more recently than EPC2
+		Assert.assertNotNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		cache.put(EPC1, RFUtils.BANK_USR, 0, 2, TID);
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNull(cache.get(EPC2, RFUtils.BANK_TID, 0, 2));
+		Assert.assertNotNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Assert.assertNotNull(cache.get(EPC1, RFUtils.BANK_USR, 0, 2));
+
+		// disabled
+		cache = new TagReadCache(0, 0);
+		Assert.assertFalse(cache.isEnabled());
+		cache.put(EPC1, RFUtils.BANK_TID, 0, 2, TID);
+		Assert.assertEquals(0, cache.size());
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Assert.assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void timeToLive() throws Exception {
+		TagReadCache cache = new TagReadCache(2, 50);
+		cache.put(EPC1, RFUtils.BANK_TID, 0, 2, TID);
+		Assert.assertNotNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Thread.sleep(60);
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void invalidate() {
+		TagReadCache cache = new TagReadCache(4, 0);
+		cache.put(EPC1, RFUtils.BANK_TID, 0, 2, TID);
+		cache.put(EPC1, RFUtils.BANK_USR, 0, 2, TID);
+		cache.put(EPC2, RFUtils.BANK_TID, 0, 2, TID);
+
+		cache.invalidate(EPC1.clone());
+		Assert.assertEquals(1, cache.size());
+		Assert.assertNull(cache.get(EPC1, RFUtils.BANK_TID, 0, 2));
+		Assert.assertNotNull(cache.get(EPC2, RFUtils.BANK_TID, 0, 2));
+
+		cache.invalidate();
+		Assert.assertEquals(0, cache.size());
+	}
+}
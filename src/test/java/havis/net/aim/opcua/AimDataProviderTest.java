@@ -4,6 +4,7 @@ import static mockit.Deencapsulation.getField;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
 
+import havis.net.aim.device.rf.HaIOState;
 import havis.net.aim.device.rf.RfidReaderDevice;
 import havis.net.aim.opcua.Constants.Param;
 import havis.net.aim.xsd.CodeTypeEnumeration;
@@ -24,6 +26,7 @@ import havis.net.aim.xsd.ScanSettings;
 import havis.net.aim.xsd.TagTypeEnumeration;
 import havis.net.aim.xsd.TagTypesType;
 import havis.opcua.message.MessageHandler;
+import havis.opcua.message.exception.ApplicationException;
 import havis.opcua.message.exception.InvalidParameterException;
 import havis.opcua.message.exception.NoSuchParameterException;
 import havis.opcua.message.exception.ParameterException;
@@ -209,6 +212,96 @@ public class AimDataProviderTest {
 		};
 	}
 
+	@Test
+	public void testReadIOData() throws Exception {
+		final AimDataProvider rdp = new AimDataProvider(rfidReaderDevice, messageHandler);
+		final Map<Param, Integer> ioData = new HashMap<>();
+		ioData.put(Param.HS1, 1);
+		ioData.put(Param.HS1_DIRECTION, 0);
+		ioData.put(Param.LS2, 0);
+		ioData.put(Param.LS2_DIRECTION, 1);
+		new NonStrictExpectations() {
+			{
+				rfidReaderDevice.getIOData();
+				result = ioData;
+			}
+		};
+
+		// reads within the interval are served from one snapshot
+		assertEquals(1, rdp.read(Environment.VARIABLE_NAME_HS1));
+		assertEquals(0, rdp.read(Environment.VARIABLE_NAME_HS1_DIRECTION));
+		assertEquals(0, rdp.read(Environment.VARIABLE_NAME_LS2));
+		assertEquals(1, rdp.read(Environment.VARIABLE_NAME_LS2_DIRECTION));
+		new Verifications() {
+			{
+				rfidReaderDevice.getIOData();
+				times = 1;
+				rfidReaderDevice.getHs1();
+				times = 0;
+			}
+		};
+
+		// a write discards the snapshot
+		rdp.write(Environment.VARIABLE_NAME_HS1, 0);
+		rdp.read(Environment.VARIABLE_NAME_HS1);
+		new Verifications() {
+			{
+				rfidReaderDevice.getIOData();
+				times = 2;
+			}
+		};
+
+		// a state change event discards the snapshot
+		final List<ParamChangedListener> listeners = new ArrayList<>();
+		new Verifications() {
+			{
+				rfidReaderDevice.addParamChangedListener(withCapture(listeners));
+			}
+		};
+		for (ParamChangedListener listener : listeners)
+			listener.paramChanged(rfidReaderDevice, Param.HS1, 0);
+		rdp.read(Environment.VARIABLE_NAME_HS1);
+		new Verifications() {
+			{
+				rfidReaderDevice.getIOData();
+				times = 3;
+			}
+		};
+
+		// other parameters keep the snapshot
+		for (ParamChangedListener listener : listeners)
+			listener.paramChanged(rfidReaderDevice, Param.RF_POWER, 0);
+		rdp.read(Environment.VARIABLE_NAME_HS1);
+		new Verifications() {
+			{
+				rfidReaderDevice.getIOData();
+				times = 3;
+			}
+		};
+
+		// the snapshot expires
+		Thread.sleep(Environment.IO_DATA_INTERVAL + 50);
+		rdp.read(Environment.VARIABLE_NAME_HS1);
+		new Verifications() {
+			{
+				rfidReaderDevice.getIOData();
+				times = 4;
+			}
+		};
+
+		// without snapshot the parameter is read individually
+		rdp.write(Environment.VARIABLE_NAME_HS1, 0);
+		new NonStrictExpectations() {
+			{
+				rfidReaderDevice.getIOData();
+				result = ApplicationException.invalidState();
+				rfidReaderDevice.getHs1();
+				result = HaIOState.HIGH;
+			}
+		};
+		assertEquals(HaIOState.HIGH.value(), rdp.read(Environment.VARIABLE_NAME_HS1));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testWrite() throws ParameterException {
@@ -441,6 +534,28 @@ public class AimDataProviderTest {
 			}
 		};
 
+		rdp.call(Environment.METHOD_NAME_READ_TAGS, null, new Object[] { new Object[] { new HashMap<>() },
+				CodeTypeEnumeration.EPC.name(), 0, 1L, 32L, new Byte[] {} });
+		new Verifications() {
+			{
+				List<ScanData> identifiers;
+				rfidReaderDevice.readTags(identifiers = withCapture(), CodeTypeEnumeration.EPC, 0, 1L, 32L,
+						withInstanceOf(byte[].class));
+				assertEquals(1, identifiers.size());
+			}
+		};
+
+		rdp.call(Environment.METHOD_NAME_WRITE_TAGS, null, new Object[] { new Object[] { new HashMap<>() },
+				CodeTypeEnumeration.EPC.name(), 0, 1L, new Object[] { new Byte[] {} }, new Byte[] {} });
+		new Verifications() {
+			{
+				List<byte[]> data;
+				rfidReaderDevice.writeTags(withInstanceOf(List.class), CodeTypeEnumeration.EPC, 0, 1L,
+						data = withCapture(), withInstanceOf(byte[].class));
+				assertEquals(1, data.size());
+			}
+		};
+
 		rdp.call(Environment.METHOD_NAME_LOCK, null,
 				new Object[] { new HashMap<>(), CodeTypeEnumeration.EPC.name(), new Byte[] {}, 0, 1, 0L, 0L });
 		new Verifications() {
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import havis.net.aim.xsd.Configuration;
+import havis.net.aim.xsd.SightingAggregation;
 import havis.net.aim.xsd.TagSet;
 
 public class ConfigurationManagerTest {
@@ -91,6 +92,31 @@ public class ConfigurationManagerTest {
 		assertEquals(TagSet.ADDITIONS, newConfig.getTagSet());
 	}
 
+	@Test
+	public void testSetSightingAggregation() throws IOException, ConfigurationManagerException {
+		init(TagSet.CURRENT);
+		ConfigurationManager cMgr = new ConfigurationManager();
+		// missing in persisted configuration
+		assertEquals(SightingAggregation.NONE, cMgr.getSightingAggregation());
+		cMgr.setSightingAggregation(SightingAggregation.ANTENNA);
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.enableDefaultTyping();
+		mapper.configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+		mapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+		Configuration newConfig = mapper.readValue(new File(Environment.CONFIG_FILE), Configuration.class);
+		assertEquals(SightingAggregation.ANTENNA, newConfig.getSightingAggregation());
+		assertEquals(TagSet.CURRENT, newConfig.getTagSet());
+
+		// partial configuration keeps the tag set
+		Configuration cfg = new Configuration();
+		cfg.setSightingAggregation(SightingAggregation.NONE);
+		cMgr.set(cfg);
+		assertEquals(SightingAggregation.NONE, cMgr.getSightingAggregation());
+		assertEquals(TagSet.CURRENT, cMgr.getTagSet());
+	}
+
 	@Test
 	public void testReset() throws IOException {		
 		init(TagSet.CURRENT);
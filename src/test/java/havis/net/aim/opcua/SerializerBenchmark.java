@@ -0,0 +1,138 @@
+package havis.net.aim.opcua;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import havis.net.aim.device.rf.BufferedRfidScanResult;
+import havis.net.aim.device.rf.SightingBuffer;
+import havis.net.aim.xsd.CodeTypeEnumeration;
+import havis.net.aim.xsd.RfidScanResult;
+import havis.net.aim.xsd.RfidSighting;
+import havis.net.aim.xsd.ScanData;
+import havis.net.aim.xsd.ScanDataEpc;
+
+/**
+ * Compares the serialization of scan results with the former implementation.
+ * Not part of the test suite, run with {@link #main(String[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+	@Param({ "1", "100", "1000" })
+	private int sightings;
+
+	/* result with a sighting list as created before the sighting buffer */
+	private RfidScanResult result;
+	/* result as created by the inventory */
+	private BufferedRfidScanResult bufferedResult;
+
+	@Setup
+	public void setup() {
+		ScanDataEpc epc = new ScanDataEpc();
+		epc.setPc(0x3000);
+		epc.setUid(new byte[] { 0x30, 0x08, 0x33, (byte) 0xb2, (byte) 0xdd, (byte) 0xd9, 0x00, 0x44, 0x33, 0x22, 0x11,
+				0x01 });
+		ScanData scanData = new ScanData();
+		scanData.setEpc(epc);
+
+		SightingBuffer buffer = new SightingBuffer(sightings);
+		for (int i = 0; i < sightings; i++)
+			buffer.add((short) (i % 4 + 1), -50 - i % 20, 1500000000000L + i, (short) 500);
+
+		result = new RfidScanResult();
+		result.setCodeType(CodeTypeEnumeration.EPC);
+		result.setScanData(scanData);
+		result.setTimeStamp(1500000000000L);
+		result.getSightings().addAll(buffer.toSightings());
+
+		bufferedResult = new BufferedRfidScanResult(buffer);
+		bufferedResult.setCodeType(CodeTypeEnumeration.EPC);
+		bufferedResult.setScanData(scanData);
+		bufferedResult.setTimeStamp(1500000000000L);
+	}
+
+	@Benchmark
+	public Map<String, Object> former() {
+		return serialize(result, 0);
+	}
+
+	@Benchmark
+	public Map<String, Object> list() {
+		return Serializer.serialize(result, 0);
+	}
+
+	@Benchmark
+	public Map<String, Object> buffered() {
+		return Serializer.serialize(bufferedResult, 0);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SerializerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	/* former implementation of Serializer.serialize(RfidScanResult, int) */
+	private static Map<String, Object> serialize(RfidScanResult result, int iRfidScanResult) {
+		Map<String, Object> resultMap = new HashMap<>();
+		resultMap.put("@id", Environment.RFIDSCANRESULT_ID + iRfidScanResult);
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object>[] arrayOfSightings = new HashMap[result.getSightings().size()];
+
+		for (int iSighting = 0; iSighting < result.getSightings().size(); iSighting++) {
+			RfidSighting sighting = result.getSightings().get(iSighting);
+			Map<String, Object> sightingMap = new HashMap<>();
+			sightingMap.put("@id", Environment.RFIDSIGHTING_ID + iRfidScanResult + "_" + iSighting);
+			sightingMap.put(Environment.RFIDSIGHTING_ANTENNA, sighting.getAntennaId());
+			sightingMap.put(Environment.RFIDSIGHTING_STRENGTH, sighting.getStrength());
+			sightingMap.put(Environment.RFIDSIGHTING_TIMESTAMP, toWindowsTimestamp(sighting.getTimestamp()));
+			sightingMap.put(Environment.RFIDSIGHTING_CURRENTPOWERLEVEL, sighting.getCurrentPowerLevel());
+			arrayOfSightings[iSighting] = sightingMap;
+		}
+
+		resultMap.put(Environment.RFIDSCANRESULT_SIGHTING, arrayOfSightings);
+		resultMap.put(Environment.RFIDSCANRESULT_CODETYPE, result.getCodeType().name());
+
+		Map<String, Object> scanDataMap = new HashMap<>();
+		scanDataMap.put("@id", Environment.SCANDATA_ID + iRfidScanResult);
+
+		if (result.getScanData().getEpc() != null) {
+			Map<String, Object> scanDataEpcMap = new HashMap<>();
+			scanDataEpcMap.put("@id", Environment.SCANDATAEPC_ID + iRfidScanResult);
+			scanDataEpcMap.put(Environment.SCANDATAEPC_PC, result.getScanData().getEpc().getPc());
+			scanDataEpcMap.put(Environment.SCANDATAEPC_UID, Serializer.boxByteArray(result.getScanData().getEpc().getUid()));
+			scanDataEpcMap.put(Environment.SCANDATAEPC_XPC_W1, 0);
+			scanDataEpcMap.put(Environment.SCANDATAEPC_XPC_W2, 0);
+			scanDataMap.put(Environment.SCANDATA_EPC, scanDataEpcMap);
+		}
+
+		resultMap.put(Environment.RFIDSCANRESULT_SCANDATA, scanDataMap);
+		resultMap.put(Environment.RFIDSCANRESULT_TIMESTAMP, toWindowsTimestamp(result.getTimeStamp()));
+
+		return resultMap;
+	}
+
+	private static long toWindowsTimestamp(long utcInMillies) {
+		return (utcInMillies + 11644473600L * 1000L) * 10000;
+	}
+}
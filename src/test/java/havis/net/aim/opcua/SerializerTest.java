@@ -2,8 +2,12 @@ package havis.net.aim.opcua;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +15,8 @@ import java.util.Map;
 import org.junit.Test;
 
 import havis.device.rf.common.util.RFUtils;
+import havis.net.aim.device.rf.BufferedRfidScanResult;
+import havis.net.aim.device.rf.SightingBuffer;
 import havis.net.aim.xsd.AntennaNameIdPair;
 import havis.net.aim.xsd.AutoIdOperationStatusEnumeration;
 import havis.net.aim.xsd.CodeTypeEnumeration;
@@ -256,6 +262,55 @@ public class SerializerTest {
 		assertEquals("rfidScanResult_42", rsrMap.get("@id"));
 	}
 
+	@Test
+	public void testSerializeRfidScanResultReadData() {
+		RfidScanResult rsr = randomResult();
+
+		// no data read
+		assertFalse(Serializer.serialize(rsr).containsKey("ReadData"));
+
+		rsr.setReadData(new byte[] { (byte) 0xE2, (byte) 0x80 });
+		assertArrayEquals(new Byte[] { (byte) 0xE2, (byte) 0x80 }, (Byte[]) Serializer.serialize(rsr).get("ReadData"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSerializeBufferedRfidScanResult() {
+		RfidScanResult rsr = randomResult();
+		SightingBuffer buffer = new SightingBuffer();
+		for (RfidSighting rs : rsr.getSightings())
+			buffer.add((short) rs.getAntennaId(), rs.getStrength(), rs.getTimestamp(), (short) rs.getCurrentPowerLevel());
+		BufferedRfidScanResult brsr = new BufferedRfidScanResult(buffer);
+		brsr.setCodeType(rsr.getCodeType());
+		brsr.setScanData(rsr.getScanData());
+		brsr.setTimeStamp(rsr.getTimeStamp());
+
+		for (int index : new int[] { 0, 17, 5000 }) {
+			Map<String, Object> rsrMap = Serializer.serialize(rsr, index);
+			Map<String, Object> brsrMap = Serializer.serialize(brsr, index);
+			assertTrue(brsr.isBuffered());
+
+			assertEquals(rsrMap.get("@id"), brsrMap.get("@id"));
+			assertEquals(rsrMap.get("Timestamp"), brsrMap.get("Timestamp"));
+			Map<String, Object> scanDataEpcMap = (Map<String, Object>) ((Map<String, Object>) rsrMap.get("ScanData")).get("Epc");
+			Map<String, Object> bScanDataEpcMap = (Map<String, Object>) ((Map<String, Object>) brsrMap.get("ScanData")).get("Epc");
+			assertEquals(scanDataEpcMap.get("@id"), bScanDataEpcMap.get("@id"));
+			assertArrayEquals((Byte[]) scanDataEpcMap.get("UId"), (Byte[]) bScanDataEpcMap.get("UId"));
+
+			@SuppressWarnings("rawtypes")
+			Map[] sightings = (Map[]) rsrMap.get("Sighting");
+			@SuppressWarnings("rawtypes")
+			Map[] bSightings = (Map[]) brsrMap.get("Sighting");
+			assertEquals(sightings.length, bSightings.length);
+			for (int i = 0; i < sightings.length; i++)
+				assertEquals(sightings[i], bSightings[i]);
+			assertEquals("rfidSighting_" + index + "_1", bSightings[1].get("@id"));
+		}
+
+		// the boxed UID is created once
+		assertSame(brsr.getBoxedUid(), brsr.getBoxedUid());
+	}
+
 	@Test
 	public void testSerializeReadResultPair() {
 		
@@ -274,6 +329,31 @@ public class SerializerTest {
 		assertEquals(AutoIdOperationStatusEnumeration.SUCCESS.ordinal(), objects[1]);
 	}
 
+	@Test
+	public void testSerializeReadResults() {
+		ReadResultPair rrp1 = new ReadResultPair();
+		rrp1.setStatus(AutoIdOperationStatusEnumeration.SUCCESS);
+		rrp1.setResultData(new byte[] { (byte) 0xaa, (byte) 0xbb });
+		ReadResultPair rrp2 = new ReadResultPair();
+		rrp2.setStatus(AutoIdOperationStatusEnumeration.NO_IDENTIFIER);
+
+		Object[] objects = Serializer.serializeReadResults(Arrays.asList(rrp1, rrp2));
+
+		Byte[][] readData = (Byte[][]) objects[0];
+		assertArrayEquals(new Byte[][] { { (byte) 0xaa, (byte) 0xbb }, {} }, readData);
+		assertArrayEquals(new Integer[] { AutoIdOperationStatusEnumeration.SUCCESS.ordinal(),
+				AutoIdOperationStatusEnumeration.NO_IDENTIFIER.ordinal() }, (Integer[]) objects[1]);
+	}
+
+	@Test
+	public void testSerializeStatuses() {
+		Object[] objects = Serializer.serializeStatuses(Arrays.asList(AutoIdOperationStatusEnumeration.SUCCESS,
+				AutoIdOperationStatusEnumeration.PERMISSON_ERROR));
+		assertEquals(1, objects.length);
+		assertArrayEquals(new Integer[] { AutoIdOperationStatusEnumeration.SUCCESS.ordinal(),
+				AutoIdOperationStatusEnumeration.PERMISSON_ERROR.ordinal() }, (Integer[]) objects[0]);
+	}
+
 	@Test
 	public void testSerializeAutoIdOperationStatusEnumeration() {		
 		for (AutoIdOperationStatusEnumeration e : AutoIdOperationStatusEnumeration.values())